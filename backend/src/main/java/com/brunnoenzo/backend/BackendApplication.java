@@ -2,8 +2,10 @@ package com.brunnoenzo.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 
 /**
  * (Classe principal da aplicação Spring Boot.)
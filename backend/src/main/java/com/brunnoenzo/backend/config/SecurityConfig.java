@@ -1,15 +1,20 @@
 package com.brunnoenzo.backend.config;
 
 import com.brunnoenzo.backend.repository.TweetUserRepository;
-import com.nimbusds.jose.jwk.JWK;
+import com.brunnoenzo.backend.security.CachingJwtDecoder;
+import com.brunnoenzo.backend.security.JwtSigningKeys;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
@@ -21,29 +26,47 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.converter.RsaKeyConverters;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.text.ParseException;
 
 @Configuration
 @EnableWebSecurity
+@Slf4j
 
 /**
  * (Configuração de segurança para a aplicação.)
  */
 public class SecurityConfig {
 
+    // Algoritmo de assinatura dos tokens: RS256, ES256 ou EdDSA
+    @Value("${application.security.jwt.algorithm:RS256}")
+    private String jwtAlgorithm;
+
+    // JWK Set (JSON) com a chave ativa e as aposentadas; vazio usa as chaves PEM abaixo (só RS256)
+    @Value("${application.security.jwt.jwk-set:}")
+    private String jwkSetLocation;
+
+    @Value("${application.security.jwt.active-key-id:}")
+    private String activeKeyId;
+
     // Carrega as chaves que você gerou
-    @Value("${jwt.public.key}")
-    private RSAPublicKey publicKey;
+    @Value("${jwt.public.key:}")
+    private String publicKeyLocation;
 
-    @Value("${jwt.private.key}")
-    private RSAPrivateKey privateKey;
+    @Value("${jwt.private.key:}")
+    private String privateKeyLocation;
+
+    @Value("${application.security.jwt.cache.max-size:10000}")
+    private long jwtCacheMaxSize;
 
     // URLs públicas que não exigem autenticação
     private static final String[] PUBLIC_URLS = {
@@ -63,7 +86,11 @@ public class SecurityConfig {
                         .requestMatchers(PUBLIC_URLS).permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/tweets/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/users/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/comments/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/search/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/trends").permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/api/export/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 // Configura o servidor para usar OAuth2/JWT
@@ -91,17 +118,48 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
-    // Cria o "Decodificador" de JWT usando a chave pública
+    // Chaves de assinatura/verificação conforme o algoritmo configurado
+    @Bean
+    public JwtSigningKeys jwtSigningKeys(ResourceLoader resourceLoader, Environment environment) throws IOException, ParseException, JOSEException {
+        JWSAlgorithm algorithm = JWSAlgorithm.parse(jwtAlgorithm);
+
+        if (StringUtils.hasText(jwkSetLocation)) {
+            try (InputStream in = resourceLoader.getResource(jwkSetLocation).getInputStream()) {
+                return JwtSigningKeys.fromJwkSet(algorithm, JWKSet.load(in), activeKeyId);
+            }
+        }
+        if (JWSAlgorithm.RS256.equals(algorithm) && StringUtils.hasText(privateKeyLocation)) {
+            RSAPublicKey publicKey;
+            RSAPrivateKey privateKey;
+            try (InputStream in = resourceLoader.getResource(publicKeyLocation).getInputStream()) {
+                publicKey = RsaKeyConverters.x509().convert(in);
+            }
+            try (InputStream in = resourceLoader.getResource(privateKeyLocation).getInputStream()) {
+                privateKey = RsaKeyConverters.pkcs8().convert(in);
+            }
+            return JwtSigningKeys.of(algorithm, new RSAKey.Builder(publicKey).privateKey(privateKey).keyIDFromThumbprint().build());
+        }
+
+        // Sem chave configurada: uma chave em memória invalida os tokens a cada restart e não vale
+        // entre instâncias, então só é aceita no perfil "dev"; fora dele a aplicação não sobe
+        if (!environment.acceptsProfiles(Profiles.of("dev"))) {
+            throw new IllegalStateException("No JWT signing key configured for " + algorithm
+                    + "; set application.security.jwt.jwk-set (or the RS256 key pair), or run with the dev profile");
+        }
+        log.warn("No JWT key configured for {}; using an ephemeral key (dev profile)", algorithm);
+        return JwtSigningKeys.of(algorithm, JwtSigningKeys.generate(algorithm));
+    }
+
+    // Cria o "Decodificador" de JWT com as chaves públicas do conjunto.
+    // Tokens já verificados ficam em cache até expirarem, evitando repetir a verificação da assinatura.
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(publicKey).build();
+    public JwtDecoder jwtDecoder(JwtSigningKeys signingKeys, MeterRegistry meterRegistry) {
+        return new CachingJwtDecoder(signingKeys.decoder(), jwtCacheMaxSize, meterRegistry);
     }
 
-    // Cria o "Codificador" de JWT usando ambas as chaves
+    // Cria o "Codificador" de JWT com a chave ativa
     @Bean
-    public JwtEncoder jwtEncoder() {
-        JWK jwk = new RSAKey.Builder(publicKey).privateKey(privateKey).build();
-        JWKSource<SecurityContext> jwks = new ImmutableJWKSet<>(new JWKSet(jwk));
-        return new NimbusJwtEncoder(jwks);
+    public JwtEncoder jwtEncoder(JwtSigningKeys signingKeys) {
+        return signingKeys.encoder();
     }
 }
\ No newline at end of file
@@ -1,9 +1,17 @@
 package com.brunnoenzo.backend.config;
 
+import java.util.List;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @Configuration
 
 /**
@@ -11,12 +19,47 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  */
 public class WebConfig implements WebMvcConfigurer {
 
+    // Listagens sem versão própria: o ETag é o hash do corpo, o que ainda poupa a transferência no 304
+    private static final List<String> BODY_ETAG_PATHS = List.of(
+            "/api/tweets",
+            "/api/tweets/*/comments",
+            "/api/comments/*/thread",
+            "/api/timeline/home",
+            "/api/users/*/following",
+            "/api/users/*/followers",
+            "/api/users/*/profile"
+    );
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**") // Aplica o CORS para todos os endpoints /api
                 .allowedOrigins("*") // Permite requisições do seu frontend
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // Métodos permitidos
                 .allowedHeaders("*")    // Permite todos os cabeçalhos
+                .exposedHeaders("ETag", "Last-Modified") // Permite ao frontend ler os validadores
                 .allowCredentials(true); // Permite o envio de credenciais (como tokens)
     }
-}
\ No newline at end of file
+
+    /**
+     * (Filtro de ETag por hash do corpo, restrito aos GETs de listagem.)
+     * Ele bufferiza a resposta inteira, então não pode ser aplicado a exportações nem a streams;
+     * tweets e usuários individuais já têm ETag por versão no cache de respostas.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> listEtagFilter() {
+        AntPathMatcher matcher = new AntPathMatcher();
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                if (!"GET".equals(request.getMethod())) {
+                    return true;
+                }
+                String path = request.getRequestURI().substring(request.getContextPath().length());
+                return BODY_ETAG_PATHS.stream().noneMatch(pattern -> matcher.match(pattern, path));
+            }
+        };
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
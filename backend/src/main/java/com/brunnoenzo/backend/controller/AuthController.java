@@ -1,6 +1,7 @@
 package com.brunnoenzo.backend.controller;
 
 import com.brunnoenzo.backend.dto.AuthDTO;
+import com.brunnoenzo.backend.dto.RefreshTokenDTO;
 import com.brunnoenzo.backend.dto.TokenResponseDTO;
 import com.brunnoenzo.backend.dto.UserCreateDTO;
 import com.brunnoenzo.backend.dto.UserResponseDTO;
@@ -37,4 +38,17 @@ public class AuthController {
     public ResponseEntity<TokenResponseDTO> login(@Valid @RequestBody AuthDTO dto) {
         return ResponseEntity.ok(authService.login(dto));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh the access token", description = "Troca o refresh token por um novo access token e um novo refresh token")
+    public ResponseEntity<TokenResponseDTO> refresh(@Valid @RequestBody RefreshTokenDTO dto) {
+        return ResponseEntity.ok(authService.refresh(dto));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Revoke a refresh token", description = "Revoga o refresh token, encerrando a sessão")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenDTO dto) {
+        authService.logout(dto);
+        return ResponseEntity.noContent().build();
+    }
+}
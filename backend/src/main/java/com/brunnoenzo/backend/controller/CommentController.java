@@ -1,8 +1,11 @@
 package com.brunnoenzo.backend.controller;
 
 import com.brunnoenzo.backend.dto.CommentCreateDTO;
+import com.brunnoenzo.backend.dto.CommentPageDTO;
 import com.brunnoenzo.backend.dto.CommentResponseDTO;
+import com.brunnoenzo.backend.dto.CommentThreadDTO;
 import com.brunnoenzo.backend.service.CommentService;
+import com.brunnoenzo.backend.service.ReadCoalescer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,7 +15,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api")
@@ -25,11 +27,24 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    private final ReadCoalescer readCoalescer;
 
     @GetMapping("/tweets/{tweetId}/comments")
-    @Operation(summary = "Get comments for a tweet", description = "Lista todos os comentários de um tweet específico")
-    public ResponseEntity<List<CommentResponseDTO>> getCommentsForTweet(@PathVariable Long tweetId) {
-        return ResponseEntity.ok(commentService.getCommentsForTweet(tweetId));
+    @Operation(summary = "Get comments for a tweet", description = "Lista os comentários de um tweet específico, paginados por cursor, com o total de comentários")
+    public ResponseEntity<CommentPageDTO> getCommentsForTweet(
+            @PathVariable Long tweetId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(readCoalescer.getCommentsForTweet(tweetId, before, limit));
+    }
+
+    @GetMapping("/comments/{id}/thread")
+    @Operation(summary = "Get a comment thread", description = "Retorna um comentário com a árvore de respostas aninhadas, limitada em profundidade e respostas por nível")
+    public ResponseEntity<CommentThreadDTO> getThread(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer depth,
+            @RequestParam(required = false) Integer fanOut) {
+        return ResponseEntity.ok(commentService.getThread(id, depth, fanOut));
     }
 
     // --- Endpoints Autenticados ---
@@ -45,6 +60,17 @@ public class CommentController {
                 .body(newComment);
     }
 
+    @PostMapping("/comments/{id}/replies")
+    @Operation(summary = "Reply to a comment", description = "Cria uma resposta a um comentário existente",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<CommentResponseDTO> createReply(
+            @PathVariable Long id,
+            @Valid @RequestBody CommentCreateDTO dto) {
+        CommentResponseDTO newReply = commentService.createReply(id, dto);
+        return ResponseEntity.created(URI.create("/api/comments/" + newReply.id()))
+                .body(newReply);
+    }
+
     @DeleteMapping("/comments/{id}")
     @Operation(summary = "Delete a comment", description = "Exclui um comentário",
                security = @SecurityRequirement(name = "bearerAuth"))
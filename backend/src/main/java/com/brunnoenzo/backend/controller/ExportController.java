@@ -0,0 +1,53 @@
+package com.brunnoenzo.backend.controller;
+
+import com.brunnoenzo.backend.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@Tag(name = "Export", description = "Endpoints for bulk NDJSON exports")
+
+/**
+ * (Controlador para exportação em massa, em NDJSON.)
+ * O corpo é escrito direto na resposta enquanto o cursor é lido, sem montar listas em memória.
+ */
+public class ExportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ExportService exportService;
+
+    // --- Endpoints Autenticados (ADMIN) ---
+
+    @GetMapping(value = "/tweets", produces = NDJSON)
+    @Operation(summary = "Export tweets", description = "Exporta todos os tweets em NDJSON, do mais antigo ao mais novo; 'after' retoma depois do id informado (o da última linha recebida) e 'since' traz os postados a partir do instante",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public void exportTweets(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        exportService.exportTweets(after, since, response.getOutputStream());
+    }
+
+    @GetMapping(value = "/comments", produces = NDJSON)
+    @Operation(summary = "Export comments", description = "Exporta todos os comentários em NDJSON, do mais antigo ao mais novo; 'after' retoma depois do id informado (o da última linha recebida) e 'since' traz os postados a partir do instante",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public void exportComments(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        exportService.exportComments(after, since, response.getOutputStream());
+    }
+}
@@ -0,0 +1,31 @@
+package com.brunnoenzo.backend.controller;
+
+import com.brunnoenzo.backend.dto.TweetSearchResultDTO;
+import com.brunnoenzo.backend.service.TweetService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Endpoints for full-text search")
+
+/**
+ * (Controlador para a busca textual.)
+ */
+public class SearchController {
+
+    private final TweetService tweetService;
+
+    @GetMapping("/tweets")
+    @Operation(summary = "Search tweets", description = "Busca tweets que contêm todos os termos, ignorando acentos e maiúsculas, ordenados por relevância e paginados por cursor")
+    public ResponseEntity<TweetSearchResultDTO> searchTweets(
+            @RequestParam String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(tweetService.searchTweets(q, after, limit));
+    }
+}
@@ -0,0 +1,35 @@
+package com.brunnoenzo.backend.controller;
+
+import com.brunnoenzo.backend.dto.CursorPageDTO;
+import com.brunnoenzo.backend.dto.TweetResponseDTO;
+import com.brunnoenzo.backend.service.TimelineService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/timeline")
+@RequiredArgsConstructor
+@Tag(name = "Timeline", description = "Endpoints for personalized timelines")
+
+/**
+ * (Controlador para as timelines personalizadas.)
+ */
+public class TimelineController {
+
+    private final TimelineService timelineService;
+
+    // --- Endpoints Autenticados ---
+
+    @GetMapping("/home")
+    @Operation(summary = "Get home timeline", description = "Lista os tweets das contas seguidas pelo usuário autenticado, paginados por cursor",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<CursorPageDTO<TweetResponseDTO>> getHomeTimeline(
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(timelineService.getHomeTimeline(before, limit));
+    }
+}
@@ -0,0 +1,28 @@
+package com.brunnoenzo.backend.controller;
+
+import com.brunnoenzo.backend.dto.TrendsDTO;
+import com.brunnoenzo.backend.service.TrendService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/trends")
+@RequiredArgsConstructor
+@Tag(name = "Trends", description = "Endpoints for trending topics")
+
+/**
+ * (Controlador para os assuntos do momento.)
+ */
+public class TrendController {
+
+    private final TrendService trendService;
+
+    @GetMapping
+    @Operation(summary = "Get trending topics", description = "Lista as hashtags e menções mais usadas na janela recente, com contagens estimadas")
+    public ResponseEntity<TrendsDTO> getTrends(@RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(trendService.getTrends(limit));
+    }
+}
@@ -1,19 +1,33 @@
 package com.brunnoenzo.backend.controller;
 
+import com.brunnoenzo.backend.dto.CursorPageDTO;
+import com.brunnoenzo.backend.dto.LikeStatusDTO;
+import com.brunnoenzo.backend.dto.TweetBatchCreateDTO;
+import com.brunnoenzo.backend.dto.TweetBatchResultDTO;
 import com.brunnoenzo.backend.dto.TweetCreateDTO;
 import com.brunnoenzo.backend.dto.TweetResponseDTO;
 import com.brunnoenzo.backend.dto.TweetUpdateDTO;
+import com.brunnoenzo.backend.dto.Versioned;
+import com.brunnoenzo.backend.service.LikeService;
+import com.brunnoenzo.backend.service.ResponseCache;
+import com.brunnoenzo.backend.service.TweetEventBroadcaster;
 import com.brunnoenzo.backend.service.TweetService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.net.URI;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/tweets")
@@ -26,17 +40,36 @@ import java.util.List;
 public class TweetController {
 
     private final TweetService tweetService;
+    private final ResponseCache responseCache;
+    private final TweetEventBroadcaster eventBroadcaster;
+    private final LikeService likeService;
 
     @GetMapping
-    @Operation(summary = "Get all tweets", description = "Lista todos os tweets postados (RF07)")
-    public ResponseEntity<List<TweetResponseDTO>> getAllTweets() {
-        return ResponseEntity.ok(tweetService.getAllTweets());
+    @Operation(summary = "Get all tweets", description = "Lista os tweets postados, paginados por cursor, do mais recente ao mais antigo (RF07)")
+    public ResponseEntity<CursorPageDTO<TweetResponseDTO>> getAllTweets(
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(tweetService.getAllTweets(before, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream tweet events", description = "Stream SSE de tweets criados, editados e excluídos; com Last-Event-ID, retoma a partir do último evento recebido")
+    public SseEmitter streamTweets(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return eventBroadcaster.subscribe(lastEventId);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get tweet by ID", description = "Consulta um tweet específico pelo ID (RF08)")
-    public ResponseEntity<TweetResponseDTO> getTweetById(@PathVariable Long id) {
-        return ResponseEntity.ok(tweetService.getTweetById(id));
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = TweetResponseDTO.class)))
+    public ResponseEntity<byte[]> getTweetById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        // Servido do cache de respostas serializadas (JSON e gzip prontos); 304 se o ETag bater.
+        // Numa falta, o cache.get do Caffeine já faz uma única carga por chave para chamadas simultâneas
+        return responseCache.respond(ResponseCache.TWEET, id, request, acceptEncoding,
+                () -> tweetService.getTweetVersion(id), () -> tweetService.getTweetById(id));
     }
 
     // --- Endpoints Autenticados ---
@@ -51,11 +84,39 @@ public class TweetController {
                 .body(newTweet);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create tweets in batch", description = "Cria vários tweets de uma vez; itens inválidos são reportados pelo índice sem abortar o lote",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<TweetBatchResultDTO> createTweets(@Valid @RequestBody TweetBatchCreateDTO dto) {
+        return ResponseEntity.ok(tweetService.createTweets(dto));
+    }
+
     @PutMapping("/{id}")
-    @Operation(summary = "Update a tweet", description = "Atualiza o conteúdo de um tweet existente (RF09)",
+    @Operation(summary = "Update a tweet", description = "Atualiza o conteúdo de um tweet existente (RF09); com If-Match, responde 412 se o tweet mudou",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<TweetResponseDTO> updateTweet(
+            @PathVariable Long id,
+            @Valid @RequestBody TweetUpdateDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Versioned<TweetResponseDTO> updated = tweetService.updateTweet(id, dto, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(updated.version().etag())
+                .lastModified(updated.version().lastModified())
+                .body(updated.body());
+    }
+
+    @PostMapping("/{id}/like")
+    @Operation(summary = "Like a tweet", description = "Curte um tweet; idempotente. A contagem retornada vem da memória e é persistida em lote",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<LikeStatusDTO> likeTweet(@PathVariable Long id) {
+        return ResponseEntity.ok(likeService.like(id));
+    }
+
+    @DeleteMapping("/{id}/like")
+    @Operation(summary = "Unlike a tweet", description = "Remove a curtida do usuário autenticado; idempotente",
                security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<TweetResponseDTO> updateTweet(@PathVariable Long id, @Valid @RequestBody TweetUpdateDTO dto) {
-        return ResponseEntity.ok(tweetService.updateTweet(id, dto));
+    public ResponseEntity<LikeStatusDTO> unlikeTweet(@PathVariable Long id) {
+        return ResponseEntity.ok(likeService.unlike(id));
     }
 
     @DeleteMapping("/{id}")
@@ -1,15 +1,27 @@
 package com.brunnoenzo.backend.controller;
 
+import com.brunnoenzo.backend.dto.CursorPageDTO;
+import com.brunnoenzo.backend.dto.FollowImportDTO;
+import com.brunnoenzo.backend.dto.FollowImportResultDTO;
+import com.brunnoenzo.backend.dto.FollowRelationDTO;
+import com.brunnoenzo.backend.dto.UserProfileDTO;
 import com.brunnoenzo.backend.dto.UserResponseDTO;
 import com.brunnoenzo.backend.dto.UserUpdateDTO;
+import com.brunnoenzo.backend.service.ResponseCache;
 import com.brunnoenzo.backend.service.TweetUserService;
+import com.brunnoenzo.backend.service.UserProfileService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,6 +36,8 @@ import java.util.List;
 public class TweetUserController {
 
     private final TweetUserService userService;
+    private final UserProfileService profileService;
+    private final ResponseCache responseCache;
 
     @GetMapping
     @Operation(summary = "Get all users", description = "Lista todos os usuários cadastrados (RF02)")
@@ -33,8 +47,63 @@ public class TweetUserController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Consulta um usuário específico pelo ID (RF03)")
-    public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = UserResponseDTO.class)))
+    public ResponseEntity<byte[]> getUserById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        // Servido do cache de respostas serializadas (JSON e gzip prontos); 304 se o ETag bater
+        return responseCache.respond(ResponseCache.USER, id, request, acceptEncoding,
+                () -> userService.getUserVersion(id), () -> userService.getUserById(id));
+    }
+
+    @GetMapping("/{id}/profile")
+    @Operation(summary = "Get user profile", description = "Retorna usuário, contadores, tweets e comentários recentes em uma única chamada")
+    public ResponseEntity<UserProfileDTO> getProfile(@PathVariable Long id) {
+        return ResponseEntity.ok(profileService.getProfile(id));
+    }
+
+    @GetMapping("/{id}/following")
+    @Operation(summary = "Get following ids", description = "Lista os ids das contas que o usuário segue, paginados por cursor")
+    public ResponseEntity<CursorPageDTO<Long>> getFollowingIds(
+            @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(userService.getFollowingIds(id, after, limit));
+    }
+
+    @GetMapping("/{id}/followers")
+    @Operation(summary = "Get follower ids", description = "Lista os ids dos seguidores do usuário, paginados por cursor")
+    public ResponseEntity<CursorPageDTO<Long>> getFollowerIds(
+            @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(userService.getFollowerIds(id, after, limit));
+    }
+
+    @GetMapping("/{id}/follows/{targetId}")
+    @Operation(summary = "Get follow relation", description = "Informa se o usuário segue o alvo, se é seguido por ele e se o follow é mútuo")
+    public ResponseEntity<FollowRelationDTO> getFollowRelation(@PathVariable Long id, @PathVariable Long targetId) {
+        return ResponseEntity.ok(userService.getFollowRelation(id, targetId));
+    }
+
+    @GetMapping("/{id}/followers/common")
+    @Operation(summary = "Get common followers", description = "Lista os ids dos seguidores em comum entre o usuário e outro (with), paginados por cursor")
+    public ResponseEntity<CursorPageDTO<Long>> getCommonFollowers(
+            @PathVariable Long id,
+            @RequestParam("with") Long otherId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(userService.getCommonFollowers(id, otherId, after, limit));
+    }
+
+    @GetMapping("/{id}/mutuals")
+    @Operation(summary = "Get mutual follows", description = "Lista os ids das contas que o usuário segue e que o seguem de volta, paginados por cursor")
+    public ResponseEntity<CursorPageDTO<Long>> getMutuals(
+            @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(userService.getMutuals(id, after, limit));
     }
 
     // --- Endpoints Autenticados ---
@@ -76,4 +145,11 @@ public class TweetUserController {
         userService.unfollowUser(id);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    @PostMapping("/me/following/import")
+    @Operation(summary = "Import follows", description = "Faz o usuário autenticado seguir vários usuários de uma vez (migração de grafo social)",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<FollowImportResultDTO> importFollows(@Valid @RequestBody FollowImportDTO dto) {
+        return ResponseEntity.ok(userService.importFollows(dto));
+    }
+}
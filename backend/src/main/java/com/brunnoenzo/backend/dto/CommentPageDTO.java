@@ -0,0 +1,13 @@
+package com.brunnoenzo.backend.dto;
+
+import java.util.List;
+
+/**
+ * (DTO para uma página de comentários de um tweet, paginada por cursor.)
+ * nextCursor é nulo quando não há mais páginas.
+ */
+public record CommentPageDTO(
+        List<CommentResponseDTO> items,
+        String nextCursor,
+        long totalCount
+) {}
@@ -0,0 +1,17 @@
+package com.brunnoenzo.backend.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * (DTO para enviar um comentário com sua árvore de respostas aninhadas.)
+ */
+public record CommentThreadDTO(
+        Long id,
+        String content,
+        Instant postTime,
+        String authorScreenName,
+        Long tweetId,
+        Long parentCommentId,
+        List<CommentThreadDTO> replies
+) {}
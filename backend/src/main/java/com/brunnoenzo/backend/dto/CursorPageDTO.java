@@ -0,0 +1,12 @@
+package com.brunnoenzo.backend.dto;
+
+import java.util.List;
+
+/**
+ * (DTO para uma página de resultados paginada por cursor.)
+ * nextCursor é nulo quando não há mais páginas.
+ */
+public record CursorPageDTO<T>(
+        List<T> items,
+        String nextCursor
+) {}
@@ -0,0 +1,16 @@
+package com.brunnoenzo.backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * (DTO para importar em lote as contas seguidas pelo usuário.)
+ */
+public record FollowImportDTO(
+        @NotEmpty(message = "At least one user id is required")
+        @Size(max = 1000, message = "Up to 1000 user ids per request")
+        List<@NotNull Long> userIds
+) {}
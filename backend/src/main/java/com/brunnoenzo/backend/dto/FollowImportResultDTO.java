@@ -0,0 +1,13 @@
+package com.brunnoenzo.backend.dto;
+
+import java.util.List;
+
+/**
+ * (DTO com o resultado de uma importação de contas seguidas.)
+ * Ids inexistentes, repetidos ou já seguidos são ignorados.
+ */
+public record FollowImportResultDTO(
+        int requested,
+        int followed,
+        List<Long> followedIds
+) {}
@@ -0,0 +1,13 @@
+package com.brunnoenzo.backend.dto;
+
+/**
+ * (DTO com a relação de follow entre dois usuários, nos dois sentidos.)
+ * following: userId segue targetId; followedBy: targetId segue userId.
+ */
+public record FollowRelationDTO(
+        Long userId,
+        Long targetId,
+        boolean following,
+        boolean followedBy,
+        boolean mutual
+) {}
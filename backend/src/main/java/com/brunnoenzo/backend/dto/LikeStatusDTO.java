@@ -0,0 +1,10 @@
+package com.brunnoenzo.backend.dto;
+
+/**
+ * (DTO com o estado da curtida do usuário e a contagem atual do tweet.)
+ */
+public record LikeStatusDTO(
+        Long tweetId,
+        boolean liked,
+        long likeCount
+) {}
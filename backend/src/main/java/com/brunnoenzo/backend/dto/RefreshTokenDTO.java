@@ -0,0 +1,11 @@
+package com.brunnoenzo.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * (DTO para renovar ou revogar uma sessão com o refresh token.)
+ */
+public record RefreshTokenDTO(
+        @NotBlank(message = "Refresh token is required")
+        String refreshToken
+) {}
@@ -0,0 +1,74 @@
+package com.brunnoenzo.backend.dto;
+
+import java.time.Instant;
+
+/**
+ * (Validadores HTTP de um recurso: ETag forte e Last-Modified.)
+ * Montado direto por consultas de projeção, para responder 304 sem carregar a entidade.
+ */
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    // Tweet: a coluna @Version basta
+    public ResourceVersion(Long version, Instant lastModified) {
+        this("\"" + version + "\"", lastModified);
+    }
+
+    // Usuário: os contadores de follow mudam por SQL nativo, sem incrementar a @Version
+    public ResourceVersion(Long version, long followersCount, long followingCount, Instant lastModified) {
+        this("\"" + version + "-" + followersCount + "-" + followingCount + "\"", lastModified);
+    }
+
+    /**
+     * (Acrescenta ao ETag um valor que muda sem alterar a @Version, como um contador.)
+     */
+    public ResourceVersion withSuffix(Object suffix) {
+        return new ResourceVersion(etag.substring(0, etag.length() - 1) + "-" + suffix + "\"", lastModified);
+    }
+
+    /**
+     * (Validadores da variante gzip.)
+     * ETags fortes precisam diferir por content-coding (RFC 9110 §8.8.3): senão um cache
+     * intermediário pode entregar os bytes gzip a quem pediu a resposta sem compressão.
+     */
+    public ResourceVersion forGzip() {
+        return withSuffix("gzip");
+    }
+
+    /**
+     * (Indica se um ETag recebido é desta versão, em qualquer das codificações.)
+     */
+    public boolean isSameVersion(String tag) {
+        return tag.equals(etag) || tag.equals(forGzip().etag());
+    }
+
+    /**
+     * (Last-Modified em milissegundos, ou -1 quando desconhecido, como espera WebRequest.checkNotModified.)
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    /**
+     * (Verifica um cabeçalho If-Match contra a @Version, com comparação forte.)
+     * Só o primeiro componente do ETag ("versão-...") é comparado: o que vem depois (curtidas,
+     * contadores, codificação) muda sem que o recurso tenha sido editado e não deve causar 412.
+     */
+    public static boolean matchesVersion(String ifMatch, Long version) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                // ETag fraco (W/...) ou malformado nunca satisfaz a comparação forte
+                continue;
+            }
+            String opaque = tag.substring(1, tag.length() - 1);
+            int separator = opaque.indexOf('-');
+            if ((separator < 0 ? opaque : opaque.substring(0, separator)).equals(String.valueOf(version))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
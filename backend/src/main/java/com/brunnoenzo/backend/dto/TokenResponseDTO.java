@@ -2,7 +2,10 @@ package com.brunnoenzo.backend.dto;
 
 /**
  * (DTO para resposta de token JWT.)
+ * token é o access token de curta duração; refreshToken é usado em /api/auth/refresh.
  */
 public record TokenResponseDTO(
-        String token
-) {}
\ No newline at end of file
+        String token,
+        String refreshToken,
+        long expiresIn
+) {}
@@ -0,0 +1,9 @@
+package com.brunnoenzo.backend.dto;
+
+/**
+ * (DTO para um termo em alta e sua contagem estimada na janela.)
+ */
+public record TrendDTO(
+        String tag,
+        long count
+) {}
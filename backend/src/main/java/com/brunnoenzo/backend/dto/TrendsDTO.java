@@ -0,0 +1,12 @@
+package com.brunnoenzo.backend.dto;
+
+import java.util.List;
+
+/**
+ * (DTO para os assuntos do momento: hashtags e menções mais frequentes na janela recente.)
+ */
+public record TrendsDTO(
+        List<TrendDTO> hashtags,
+        List<TrendDTO> mentions,
+        long windowMinutes
+) {}
@@ -0,0 +1,14 @@
+package com.brunnoenzo.backend.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+
+/**
+ * (DTO para criar vários tweets de uma vez.)
+ * Os itens são validados um a um no serviço, para que um item inválido não derrube o lote inteiro.
+ */
+public record TweetBatchCreateDTO(
+        @NotEmpty(message = "At least one tweet is required")
+        List<TweetCreateDTO> tweets
+) {}
@@ -0,0 +1,15 @@
+package com.brunnoenzo.backend.dto;
+
+import java.util.List;
+
+/**
+ * (DTO com o resultado de uma criação em lote.)
+ * createdIds segue a ordem dos itens válidos; errors aponta o índice de cada item rejeitado.
+ */
+public record TweetBatchResultDTO(
+        List<Long> createdIds,
+        List<ItemError> errors
+) {
+
+    public record ItemError(int index, String error) {}
+}
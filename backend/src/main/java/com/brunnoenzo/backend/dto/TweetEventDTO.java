@@ -0,0 +1,17 @@
+package com.brunnoenzo.backend.dto;
+
+/**
+ * (DTO para um evento do stream de tweets ao vivo.)
+ * tweet é nulo nos eventos "deleted" (só o tweetId é enviado) e "reset", que pede ao cliente para
+ * recarregar a lista porque os eventos perdidos já saíram do buffer.
+ */
+public record TweetEventDTO(
+        String type,
+        Long tweetId,
+        TweetResponseDTO tweet
+) {
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String RESET = "reset";
+}
@@ -4,11 +4,22 @@ import java.time.Instant;
 
 /**
  * (DTO para enviar dados de Tweet nas respostas.)
+ * likeCount vem dos contadores em memória (LikeService), não do banco.
  */
 public record TweetResponseDTO(
         Long id,
         String content,
         Instant postTime,
         String authorScreenName,
-        Long authorId
-) {}
\ No newline at end of file
+        Long authorId,
+        long likeCount
+) {
+    // Usado pelas projeções JPQL, que não leem curtidas
+    public TweetResponseDTO(Long id, String content, Instant postTime, String authorScreenName, Long authorId) {
+        this(id, content, postTime, authorScreenName, authorId, 0);
+    }
+
+    public TweetResponseDTO withLikeCount(long likeCount) {
+        return new TweetResponseDTO(id, content, postTime, authorScreenName, authorId, likeCount);
+    }
+}
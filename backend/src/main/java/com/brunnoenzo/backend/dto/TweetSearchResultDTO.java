@@ -0,0 +1,13 @@
+package com.brunnoenzo.backend.dto;
+
+import java.util.List;
+
+/**
+ * (DTO para uma página de resultados da busca de tweets, do mais relevante ao menos relevante.)
+ * nextCursor é nulo quando não há mais páginas; totalHits é limitado a application.search.max-results.
+ */
+public record TweetSearchResultDTO(
+        List<TweetResponseDTO> items,
+        String nextCursor,
+        int totalHits
+) {}
@@ -0,0 +1,13 @@
+package com.brunnoenzo.backend.dto;
+
+import java.util.List;
+
+/**
+ * (DTO com tudo o que a página de perfil precisa, retornado em uma única requisição.)
+ */
+public record UserProfileDTO(
+        UserResponseDTO user,
+        long tweetCount,
+        List<TweetResponseDTO> recentTweets,
+        List<CommentResponseDTO> recentComments
+) {}
@@ -5,8 +5,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.Set;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +18,6 @@ public class UserResponseDTO {
     private String profileImage;
     private String bio;
     private Role role;
-    private int followingCount;
-    private int followersCount;
-    private Set<Long> followingIds;
+    private long followingCount;
+    private long followersCount;
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.brunnoenzo.backend.dto;
+
+/**
+ * (Corpo de resposta acompanhado dos seus validadores HTTP.)
+ */
+public record Versioned<T>(
+        T body,
+        ResourceVersion version
+) {}
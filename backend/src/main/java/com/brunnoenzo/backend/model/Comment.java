@@ -5,18 +5,17 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.Objects; 
 
-import org.hibernate.annotations.CreationTimestamp;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -29,20 +28,31 @@ import lombok.AllArgsConstructor;
 @ToString(exclude = {"tweet", "author", "parentComment", "replies"}) // Excluir relacionamentos
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+        // Listagem paginada dos comentários de um tweet (WHERE tweet_id = ? ORDER BY id DESC)
+        @Index(name = "idx_comment_tweet_id", columnList = "tweet_id, id"),
+        // Respostas de um comentário, usadas na consulta recursiva das threads
+        @Index(name = "idx_comment_parent_id", columnList = "parent_comment_id, id"),
+        // Comentários recentes de um autor (página de perfil)
+        @Index(name = "idx_comment_user_id", columnList = "user_id, id"),
+        // Exportação a partir de um instante (WHERE post_time >= ?)
+        @Index(name = "idx_comment_post_time_id", columnList = "post_time, id")
+})
 
 /**
  * (Entidade representando um comentário em um tweet.)
  */
-public class Comment {
+public class Comment implements TimeOrdered {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false, length = 280)
     private String content;
 
-    @CreationTimestamp
+    // Derivado do id (ver TimeOrdered), então ordenar por id equivale a ordenar por postTime
+    @Column(updatable = false)
     private Instant postTime;
 
     @ManyToOne(fetch = FetchType.LAZY)
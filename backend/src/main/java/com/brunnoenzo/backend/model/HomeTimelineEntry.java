@@ -0,0 +1,55 @@
+package com.brunnoenzo.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(HomeTimelineEntry.Key.class)
+// A leitura (WHERE user_id = ? ORDER BY tweet_id DESC) usa a própria chave primária
+@Table(name = "home_timeline", indexes = {
+        @Index(name = "idx_home_timeline_tweet", columnList = "tweet_id")
+})
+
+/**
+ * (Entrada da timeline pré-computada de um usuário: um tweet entregue a um seguidor.)
+ */
+public class HomeTimelineEntry {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "tweet_id")
+    private Long tweetId;
+
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    @Column(name = "post_time", nullable = false)
+    private Instant postTime;
+
+    /**
+     * (Chave composta (user_id, tweet_id).)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long tweetId;
+    }
+}
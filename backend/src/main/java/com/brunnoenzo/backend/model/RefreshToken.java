@@ -0,0 +1,64 @@
+package com.brunnoenzo.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.Objects;
+
+@Entity
+@Getter
+@Setter
+@ToString(exclude = {"user"})
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_user", columnList = "user_id")
+})
+
+/**
+ * (Entidade representando um refresh token emitido para um usuário.)
+ * Apenas o hash SHA-256 do token é guardado; o valor em si só existe no cliente.
+ */
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private TweetUser user;
+
+    @CreationTimestamp
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // Preenchido quando o token é usado (rotação) ou revogado
+    private Instant revokedAt;
+
+    // --- Métodos equals() e hashCode() manuais ---
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RefreshToken that = (RefreshToken) o;
+        return id != null && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
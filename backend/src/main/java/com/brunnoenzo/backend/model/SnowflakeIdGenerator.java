@@ -0,0 +1,91 @@
+package com.brunnoenzo.backend.model;
+
+import java.lang.reflect.Member;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+/**
+ * (Gerador de ids ordenados pelo tempo, no estilo Snowflake, sem ida ao banco.)
+ * Layout do id: [41 bits de milissegundos desde 2024-01-01][5 bits de nó][7 bits de sequência].
+ * O total fica em 53 bits (cabe em Number.MAX_SAFE_INTEGER), porque o frontend trata ids como number.
+ * O nó vem de application.ids.node-id (repassado ao Hibernate via spring.jpa.properties) e deve ser
+ * único por instância. A geração é lock-free: um CAS sobre (timestamp, sequência); se a sequência
+ * estoura dentro do mesmo milissegundo, o id "pega emprestado" o milissegundo seguinte em vez de esperar.
+ */
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    public static final String NODE_ID_SETTING = "application.ids.node-id";
+
+    static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    static final int NODE_BITS = 5;
+    static final int SEQUENCE_BITS = 7;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    // (timestamp << SEQUENCE_BITS) | sequência do último id emitido, compartilhado por todas as entidades
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private final AtomicLong last;
+    private final long nodeBits;
+
+    public SnowflakeIdGenerator(SnowflakeId config, Member idMember, CustomIdGeneratorCreationContext context) {
+        this(nodeIdOf(context), LAST);
+    }
+
+    // Usado direto nos testes, com um estado próprio em vez do compartilhado
+    SnowflakeIdGenerator(long nodeId, AtomicLong last) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException(NODE_ID_SETTING + " must be between 0 and " + MAX_NODE_ID);
+        }
+        this.last = last;
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+    }
+
+    private static long nodeIdOf(CustomIdGeneratorCreationContext context) {
+        Object setting = context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSettings()
+                .get(NODE_ID_SETTING);
+        return setting == null ? 0 : Long.parseLong(setting.toString().trim());
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner) {
+        long id = nextId();
+        if (owner instanceof TimeOrdered entity && entity.getPostTime() == null) {
+            entity.setPostTime(timestampOf(id));
+        }
+        return id;
+    }
+
+    long nextId() {
+        return nextId(System.currentTimeMillis());
+    }
+
+    // currentTimeMillis recebido como parâmetro para os testes simularem o relógio
+    long nextId(long currentTimeMillis) {
+        long now = currentTimeMillis - EPOCH_MILLIS;
+        while (true) {
+            long previous = last.get();
+            long lastMillis = previous >>> SEQUENCE_BITS;
+            // Relógio andou: sequência volta a zero. Relógio parado ou voltou: incrementa (pode virar o ms seguinte)
+            long next = now > lastMillis ? now << SEQUENCE_BITS : previous + 1;
+            if (last.compareAndSet(previous, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+            }
+        }
+    }
+
+    /**
+     * (Instante embutido em um id gerado por esta classe.)
+     */
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli(EPOCH_MILLIS + (id >>> (NODE_BITS + SEQUENCE_BITS)));
+    }
+}
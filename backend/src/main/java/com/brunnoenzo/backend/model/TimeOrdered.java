@@ -0,0 +1,14 @@
+package com.brunnoenzo.backend.model;
+
+import java.time.Instant;
+
+/**
+ * (Entidade cujo postTime é derivado do próprio id Snowflake.)
+ * Assim a ordem por id e a ordem por postTime são sempre a mesma.
+ */
+public interface TimeOrdered {
+
+    Instant getPostTime();
+
+    void setPostTime(Instant postTime);
+}
@@ -7,7 +7,10 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 import java.util.HashSet;
@@ -20,22 +23,44 @@ import java.util.Objects;
 @ToString(exclude = {"tweetUser", "comments"})
 @NoArgsConstructor
 @AllArgsConstructor
+// Cache de segundo nível: getTweetById e as verificações de dono não vão ao banco
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tweet")
+@Table(indexes = {
+        // Exportação a partir de um instante (WHERE post_time >= ?); a timeline pública e a
+        // retomada da exportação paginam pela chave primária
+        @Index(name = "idx_tweet_post_time_id", columnList = "post_time, id"),
+        // Tweets recentes de um autor (fan-out na leitura e backfill ao seguir)
+        @Index(name = "idx_tweet_user_id", columnList = "user_id, id")
+})
 
 /**
  * (Entidade representando um tweet postado por um usuário.)
  */
-public class Tweet {
+public class Tweet implements TimeOrdered {
 
+    // Id Snowflake gerado em memória: ordenado pelo tempo e conhecido já no persist,
+    // o que mantém o batching JDBC sem depender de sequência no banco
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
-    @CreationTimestamp
+    // Derivado do id (ver TimeOrdered), então ordenar por id equivale a ordenar por postTime
+    @Column(updatable = false)
     private Instant postTime;
 
     @Column(nullable = false, length = 280)
     private String content;
 
+    // Versão para ETag e concorrência otimista (If-Match no PUT); linhas antigas começam em 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Usado no Last-Modified; nulo em linhas anteriores à coluna (cai para postTime)
+    @UpdateTimestamp
+    private Instant updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private TweetUser tweetUser;
@@ -0,0 +1,53 @@
+package com.brunnoenzo.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(TweetLike.Key.class)
+@Table(name = "tweet_like", indexes = {
+        // Limpeza ao excluir um tweet: WHERE tweet_id = ?
+        @Index(name = "idx_tweet_like_tweet", columnList = "tweet_id")
+})
+
+/**
+ * (Curtida de um usuário em um tweet; a chave (user_id, tweet_id) garante uma curtida por usuário.)
+ * As linhas são gravadas em lote pelo LikeService; a contagem por tweet fica em TweetLikeCount.
+ */
+public class TweetLike {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "tweet_id")
+    private Long tweetId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * (Chave composta (user_id, tweet_id).)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long tweetId;
+    }
+}
@@ -0,0 +1,30 @@
+package com.brunnoenzo.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tweet_like_count")
+
+/**
+ * (Total de curtidas de um tweet, persistido para recarregar os contadores em memória na subida.)
+ * Atualizado só por upserts em lote com os deltas acumulados (LikeService), nunca por COUNT(*).
+ */
+public class TweetLikeCount {
+
+    @Id
+    @Column(name = "tweet_id")
+    private Long tweetId;
+
+    @Column(name = "like_count", nullable = false)
+    private long likeCount;
+}
@@ -8,10 +8,17 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -25,6 +32,9 @@ import java.util.Objects;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "tweet_user")
+// Cache de segundo nível: leituras por id e por screenName (natural id) saem da memória
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tweetUser")
+@NaturalIdCache(region = "tweetUserNaturalId")
 
 /**
  * (Entidade representando um usuário do sistema.)
@@ -32,9 +42,10 @@ import java.util.Objects;
 public class TweetUser implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long userid;
 
+    @NaturalId
     @Column(unique = true, nullable = false)
     @NotBlank
     private String screenName;
@@ -51,6 +62,28 @@ public class TweetUser implements UserDetails {
     @Column(nullable = false)
     private Role role;
 
+    // Contadores desnormalizados de "Seguindo"/"Seguidores", mantidos em followUser/unfollowUser
+    // para não carregar as coleções inteiras só para contar. Só os UPDATEs nativos (+ delta) os
+    // alteram: fora do INSERT/UPDATE da entidade, um save do perfil não sobrescreve com o valor lido
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long followersCount;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long followingCount;
+
+    // Versão para ETag e concorrência otimista; os contadores acima não a incrementam
+    // (um follow não deve gerar conflito com a edição do perfil), então entram no ETag à parte
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Usado no Last-Modified; também atualizado pelos SQLs nativos dos contadores
+    @UpdateTimestamp
+    private Instant updatedAt;
+
     // Relacionamento: Usuário tem muitos Tweets
     @OneToMany(mappedBy = "tweetUser", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Tweet> tweets = new HashSet<>();
@@ -60,11 +93,14 @@ public class TweetUser implements UserDetails {
     private Set<Comment> comments = new HashSet<>();
 
     // Relacionamento: Lógica de "Seguindo"
+    // A chave primária de user_following é (user_id, following_id); o índice reverso
+    // atende "quem segue X". Escritas são feitas direto na tabela (TweetUserRepository).
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_following",
             joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "following_id")
+            inverseJoinColumns = @JoinColumn(name = "following_id"),
+            indexes = @Index(name = "idx_user_following_reverse", columnList = "following_id, user_id")
     )
     private Set<TweetUser> following = new HashSet<>();
 
@@ -1,14 +1,87 @@
 package com.brunnoenzo.backend.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.brunnoenzo.backend.dto.CommentResponseDTO;
 import com.brunnoenzo.backend.model.Comment;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 
 /**
  * (Repositório para a entidade Comment.)
+ * As consultas de leitura projetam direto para CommentResponseDTO em um único JOIN com o autor;
+ * tweet_id e parent_comment_id são lidos das próprias colunas de chave estrangeira.
  */
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-}
\ No newline at end of file
+
+    String COMMENT_DTO = "SELECT new com.brunnoenzo.backend.dto.CommentResponseDTO(" +
+                         "c.id, c.content, c.postTime, a.screenName, c.tweet.id, c.parentComment.id) " +
+                         "FROM Comment c JOIN c.author a ";
+
+    // Primeira página de comentários de um tweet, usando o índice (tweet_id, id);
+    // ids Snowflake são ordenados pelo tempo, então a ordem por id é a ordem por postTime
+    @Query(COMMENT_DTO + "WHERE c.tweet.id = :tweetId " +
+           "ORDER BY c.id DESC")
+    List<CommentResponseDTO> findLatestByTweetId(@Param("tweetId") Long tweetId, Pageable pageable);
+
+    // Páginas seguintes: tudo que vem estritamente antes do cursor (id)
+    @Query(COMMENT_DTO + "WHERE c.tweet.id = :tweetId AND c.id < :id " +
+           "ORDER BY c.id DESC")
+    List<CommentResponseDTO> findLatestByTweetIdBefore(@Param("tweetId") Long tweetId,
+                                                       @Param("id") Long id,
+                                                       Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.tweet.id = :tweetId")
+    long countByTweetId(@Param("tweetId") Long tweetId);
+
+    // Ids de uma sub-árvore de respostas em uma única consulta recursiva.
+    // Cada nível traz no máximo :fanOut respostas por comentário (as mais antigas primeiro),
+    // até :maxDepth níveis abaixo da raiz e no máximo :maxNodes comentários no total.
+    @Query(value = "WITH RECURSIVE thread (id, depth) AS (" +
+                   "SELECT c.id, 0 FROM comment c WHERE c.id = :rootId " +
+                   "UNION ALL " +
+                   "SELECT r.id, t.depth + 1 FROM thread t CROSS JOIN LATERAL (" +
+                   "SELECT ch.id FROM comment ch WHERE ch.parent_comment_id = t.id " +
+                   "ORDER BY ch.id LIMIT :fanOut) r " +
+                   "WHERE t.depth < :maxDepth" +
+                   ") SELECT id FROM thread LIMIT :maxNodes",
+           nativeQuery = true)
+    List<Long> findThreadIds(@Param("rootId") Long rootId,
+                             @Param("maxDepth") int maxDepth,
+                             @Param("fanOut") int fanOut,
+                             @Param("maxNodes") int maxNodes);
+
+    // Comentários mais recentes de um autor (página de perfil), pelo índice (user_id, id)
+    @Query(COMMENT_DTO + "WHERE a.userid = :authorId " +
+           "ORDER BY c.id DESC")
+    List<CommentResponseDTO> findLatestByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(COMMENT_DTO + "WHERE c.id IN :ids")
+    List<CommentResponseDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Exportação: cursor no servidor lendo 1000 linhas por vez, em ordem crescente de id (ordenado pelo tempo)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(COMMENT_DTO + "ORDER BY c.id")
+    Stream<CommentResponseDTO> streamAll();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(COMMENT_DTO + "WHERE c.id > :id ORDER BY c.id")
+    Stream<CommentResponseDTO> streamAfter(@Param("id") Long id);
+
+    // Inclusivo: vários ids dividem o mesmo milissegundo, e um ">" perderia o resto dele
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(COMMENT_DTO + "WHERE c.postTime >= :since ORDER BY c.id")
+    Stream<CommentResponseDTO> streamSince(@Param("since") Instant since);
+}
@@ -0,0 +1,15 @@
+package com.brunnoenzo.backend.repository;
+
+/**
+ * (Fragmento do TweetUserRepository que lê as arestas de user_following sem criar entidades.)
+ */
+public interface FollowEdgeReader {
+
+    @FunctionalInterface
+    interface EdgeConsumer {
+        void accept(long userId, long followingId);
+    }
+
+    // Percorre todas as arestas em streaming, ordenadas por (user_id, following_id)
+    void forEachFollowEdge(EdgeConsumer consumer);
+}
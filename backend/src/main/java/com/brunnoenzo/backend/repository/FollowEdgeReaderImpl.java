@@ -0,0 +1,30 @@
+package com.brunnoenzo.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * (Implementação do fragmento de arestas com JdbcTemplate.)
+ * Os valores são lidos como long primitivo direto do ResultSet: nem entidade nem Long por aresta.
+ */
+@RequiredArgsConstructor
+public class FollowEdgeReaderImpl implements FollowEdgeReader {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void forEachFollowEdge(EdgeConsumer consumer) {
+        // O fetch size só vale dentro de uma transação (cursor no servidor); quem chama abre uma
+        jdbcTemplate.query(
+                connection -> {
+                    var statement = connection.prepareStatement(
+                            "SELECT user_id, following_id FROM user_following ORDER BY user_id, following_id");
+                    statement.setFetchSize(10000);
+                    return statement;
+                },
+                resultSet -> {
+                    consumer.accept(resultSet.getLong(1), resultSet.getLong(2));
+                });
+    }
+}
@@ -0,0 +1,149 @@
+package com.brunnoenzo.backend.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.brunnoenzo.backend.model.HomeTimelineEntry;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+
+/**
+ * (Repositório para as timelines pré-computadas dos usuários.)
+ * As escritas nativas declaram o query space "home_timeline" para não esvaziarem o cache de segundo nível.
+ */
+public interface HomeTimelineRepository extends JpaRepository<HomeTimelineEntry, HomeTimelineEntry.Key> {
+
+    // Fan-out na escrita: entrega o tweet ao autor e, se ele tiver menos de :threshold seguidores,
+    // a todos os seus seguidores, em um único INSERT. Acima do limite ("celebridade"),
+    // os seguidores buscam os tweets na leitura.
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "home_timeline"))
+    @Query(value = "INSERT INTO home_timeline (user_id, tweet_id, author_id, post_time) " +
+                   "SELECT uf.user_id, :tweetId, :authorId, :postTime FROM user_following uf " +
+                   "WHERE uf.following_id = :authorId " +
+                   "AND (SELECT u.followers_count FROM tweet_user u WHERE u.userid = :authorId) < :threshold " +
+                   "UNION SELECT :authorId, :tweetId, :authorId, :postTime " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int fanOut(@Param("tweetId") Long tweetId,
+               @Param("authorId") Long authorId,
+               @Param("postTime") Instant postTime,
+               @Param("threshold") long threshold);
+
+    // Mesmo fan-out do método acima, para vários tweets do mesmo autor em um único INSERT (criação em lote)
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "home_timeline"))
+    @Query(value = "INSERT INTO home_timeline (user_id, tweet_id, author_id, post_time) " +
+                   "SELECT r.user_id, t.id, t.user_id, t.post_time FROM tweet t " +
+                   "JOIN (SELECT uf.user_id FROM user_following uf " +
+                   "      WHERE uf.following_id = :authorId " +
+                   "      AND (SELECT u.followers_count FROM tweet_user u WHERE u.userid = :authorId) < :threshold " +
+                   "      UNION SELECT :authorId) r ON TRUE " +
+                   "WHERE t.id IN (:tweetIds) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int fanOutAll(@Param("tweetIds") Collection<Long> tweetIds,
+                  @Param("authorId") Long authorId,
+                  @Param("threshold") long threshold);
+
+    // Ao seguir alguém, copia os tweets mais recentes dessa conta para a timeline do seguidor
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "home_timeline"))
+    @Query(value = "INSERT INTO home_timeline (user_id, tweet_id, author_id, post_time) " +
+                   "SELECT :userId, t.id, t.user_id, t.post_time FROM tweet t " +
+                   "WHERE t.user_id = :authorId " +
+                   "ORDER BY t.id DESC LIMIT :limit " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int backfill(@Param("userId") Long userId,
+                 @Param("authorId") Long authorId,
+                 @Param("limit") int limit);
+
+    // Backfill de várias contas de uma vez (importação de seguidores em lote)
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "home_timeline"))
+    @Query(value = "INSERT INTO home_timeline (user_id, tweet_id, author_id, post_time) " +
+                   "SELECT :userId, t.id, t.user_id, t.post_time FROM tweet t " +
+                   "WHERE t.user_id IN (:authorIds) " +
+                   "ORDER BY t.id DESC LIMIT :limit " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int backfillFromAuthors(@Param("userId") Long userId,
+                            @Param("authorIds") Collection<Long> authorIds,
+                            @Param("limit") int limit);
+
+    // Leitura pela chave primária (user_id, tweet_id): ids Snowflake já vêm na ordem do tempo
+    @Query("SELECT e.tweetId FROM HomeTimelineEntry e WHERE e.userId = :userId " +
+           "ORDER BY e.tweetId DESC")
+    List<Long> findTweetIds(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT e.tweetId FROM HomeTimelineEntry e WHERE e.userId = :userId AND e.tweetId < :id " +
+           "ORDER BY e.tweetId DESC")
+    List<Long> findTweetIdsBefore(@Param("userId") Long userId,
+                                  @Param("id") Long id,
+                                  Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM HomeTimelineEntry e WHERE e.userId = :userId AND e.authorId = :authorId")
+    int deleteByUserIdAndAuthorId(@Param("userId") Long userId, @Param("authorId") Long authorId);
+
+    @Modifying
+    @Query("DELETE FROM HomeTimelineEntry e WHERE e.tweetId = :tweetId")
+    int deleteByTweetId(@Param("tweetId") Long tweetId);
+
+    @Modifying
+    @Query("DELETE FROM HomeTimelineEntry e WHERE e.userId = :userId OR e.authorId = :userId")
+    int deleteByUserIdOrAuthorId(@Param("userId") Long userId);
+
+    // Limita as timelines de :userIds às :maxSize entradas mais recentes. Para cada usuário, o
+    // índice da chave (user_id, tweet_id) dá a primeira entrada além do limite e tudo dali
+    // para trás é apagado: o custo depende só das timelines tocadas, não da tabela inteira
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "home_timeline"))
+    @Query(value = "DELETE FROM home_timeline h USING (" +
+                   "SELECT u.userid AS user_id, b.tweet_id FROM tweet_user u " +
+                   "CROSS JOIN LATERAL (SELECT e.tweet_id FROM home_timeline e " +
+                   "WHERE e.user_id = u.userid ORDER BY e.tweet_id DESC " +
+                   "OFFSET :maxSize LIMIT 1) b " +
+                   "WHERE u.userid IN (:userIds)) r " +
+                   "WHERE h.user_id = r.user_id AND h.tweet_id <= r.tweet_id",
+           nativeQuery = true)
+    int trimUsers(@Param("userIds") Collection<Long> userIds, @Param("maxSize") int maxSize);
+
+    // Usuários cuja timeline passou do limite; varre o índice da chave uma vez, usado só na subida
+    @Query(value = "SELECT h.user_id FROM home_timeline h GROUP BY h.user_id HAVING count(*) > :maxSize",
+           nativeQuery = true)
+    List<Long> findUserIdsWithMoreThan(@Param("maxSize") int maxSize);
+
+    // Mesma poda, para as timelines que receberam o fan-out de um autor: ele e, se não for
+    // celebridade, seus seguidores
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "home_timeline"))
+    @Query(value = "DELETE FROM home_timeline h USING (" +
+                   "SELECT f.user_id, b.tweet_id FROM (" +
+                   "SELECT uf.user_id FROM user_following uf WHERE uf.following_id = :authorId " +
+                   "AND (SELECT u.followers_count FROM tweet_user u WHERE u.userid = :authorId) < :threshold " +
+                   "UNION SELECT :authorId) f " +
+                   "CROSS JOIN LATERAL (SELECT e.tweet_id FROM home_timeline e " +
+                   "WHERE e.user_id = f.user_id ORDER BY e.tweet_id DESC " +
+                   "OFFSET :maxSize LIMIT 1) b) r " +
+                   "WHERE h.user_id = r.user_id AND h.tweet_id <= r.tweet_id",
+           nativeQuery = true)
+    int trimFanOutOf(@Param("authorId") Long authorId,
+                     @Param("maxSize") int maxSize,
+                     @Param("threshold") long threshold);
+
+    // Contas seguidas por :userId cujo número de seguidores atinge o limite de "celebridade"
+    @Query(value = "SELECT uf.following_id FROM user_following uf " +
+                   "JOIN tweet_user u ON u.userid = uf.following_id " +
+                   "WHERE uf.user_id = :userId AND u.followers_count >= :threshold",
+           nativeQuery = true)
+    List<Long> findFollowedCelebrityIds(@Param("userId") Long userId, @Param("threshold") long threshold);
+}
@@ -0,0 +1,16 @@
+package com.brunnoenzo.backend.repository;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * (Fragmento do TweetLikeRepository com as operações em lote sobre tweet_like_count.)
+ */
+public interface TweetLikeCountWriter {
+
+    // Soma os deltas aos totais em um único batch JDBC de upserts
+    void upsertCounts(Map<Long, Long> deltas);
+
+    // Percorre os totais persistidos em streaming (usado para recarregar os contadores na subida)
+    void forEachCount(BiConsumer<Long, Long> consumer);
+}
@@ -0,0 +1,51 @@
+package com.brunnoenzo.backend.repository;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * (Implementação do fragmento de contagens com JdbcTemplate.)
+ * Consultas nativas do JPA não entram no batching do Hibernate; batchUpdate envia todos os upserts
+ * de uma vez (e o reWriteBatchedInserts do driver os junta em INSERTs de várias linhas).
+ */
+@RequiredArgsConstructor
+public class TweetLikeCountWriterImpl implements TweetLikeCountWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertCounts(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tweet_like_count (tweet_id, like_count) VALUES (?, ?) " +
+                "ON CONFLICT (tweet_id) DO UPDATE SET like_count = tweet_like_count.like_count + EXCLUDED.like_count",
+                new ArrayList<>(deltas.entrySet()),
+                deltas.size(),
+                (statement, delta) -> {
+                    statement.setLong(1, delta.getKey());
+                    statement.setLong(2, delta.getValue());
+                });
+    }
+
+    @Override
+    public void forEachCount(BiConsumer<Long, Long> consumer) {
+        // O fetch size só vale dentro de uma transação (cursor no servidor); quem chama abre uma
+        jdbcTemplate.query(
+                connection -> {
+                    var statement = connection.prepareStatement(
+                            "SELECT tweet_id, like_count FROM tweet_like_count WHERE like_count <> 0");
+                    statement.setFetchSize(1000);
+                    return statement;
+                },
+                resultSet -> {
+                    consumer.accept(resultSet.getLong(1), resultSet.getLong(2));
+                });
+    }
+}
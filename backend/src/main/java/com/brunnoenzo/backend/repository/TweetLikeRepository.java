@@ -0,0 +1,50 @@
+package com.brunnoenzo.backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.brunnoenzo.backend.model.TweetLike;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+
+/**
+ * (Repositório para as curtidas e seus totais por tweet.)
+ * As escritas são agrupadas por tweet: um tweet popular recebe todas as curtidas do intervalo
+ * em um único INSERT/DELETE, que retorna quem realmente mudou para corrigir os contadores.
+ */
+public interface TweetLikeRepository extends JpaRepository<TweetLike, TweetLike.Key>, TweetLikeCountWriter {
+
+    // Ignora curtidas repetidas e usuários/tweets que já não existem
+    @Query(value = "INSERT INTO tweet_like (user_id, tweet_id, created_at) " +
+                   "SELECT u.userid, t.id, now() FROM tweet_user u JOIN tweet t ON t.id = :tweetId " +
+                   "WHERE u.userid IN (:userIds) " +
+                   "ON CONFLICT DO NOTHING RETURNING user_id", nativeQuery = true)
+    List<Long> insertLikes(@Param("tweetId") Long tweetId, @Param("userIds") Collection<Long> userIds);
+
+    @Query(value = "DELETE FROM tweet_like WHERE tweet_id = :tweetId AND user_id IN (:userIds) " +
+                   "RETURNING user_id", nativeQuery = true)
+    List<Long> deleteLikes(@Param("tweetId") Long tweetId, @Param("userIds") Collection<Long> userIds);
+
+    // Exclusão de conta: remove as curtidas do usuário e retorna os tweets que perderam uma curtida
+    @Query(value = "DELETE FROM tweet_like WHERE user_id = :userId RETURNING tweet_id", nativeQuery = true)
+    List<Long> deleteAllByUser(@Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tweet_like"))
+    @Query(value = "DELETE FROM tweet_like WHERE tweet_id IN (:tweetIds)", nativeQuery = true)
+    int deleteAllByTweets(@Param("tweetIds") Collection<Long> tweetIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tweet_like_count"))
+    @Query(value = "DELETE FROM tweet_like_count WHERE tweet_id IN (:tweetIds)", nativeQuery = true)
+    int deleteCounts(@Param("tweetIds") Collection<Long> tweetIds);
+}
@@ -1,14 +1,95 @@
 package com.brunnoenzo.backend.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.brunnoenzo.backend.dto.ResourceVersion;
+import com.brunnoenzo.backend.dto.TweetResponseDTO;
 import com.brunnoenzo.backend.model.Tweet;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 
 /**
  * (Repositório para a entidade Tweet.)
+ * As consultas de leitura projetam direto para TweetResponseDTO em um único JOIN,
+ * sem entidades gerenciadas (evita N+1 no autor e snapshots de dirty-checking).
  */
 public interface TweetRepository extends JpaRepository<Tweet, Long> {
-}
\ No newline at end of file
+
+    String TWEET_DTO = "SELECT new com.brunnoenzo.backend.dto.TweetResponseDTO(" +
+                       "t.id, t.content, t.postTime, u.screenName, u.userid) " +
+                       "FROM Tweet t JOIN t.tweetUser u ";
+
+    // Validadores HTTP (ETag/Last-Modified) sem carregar a entidade
+    @Query("SELECT new com.brunnoenzo.backend.dto.ResourceVersion(t.version, COALESCE(t.updatedAt, t.postTime)) " +
+           "FROM Tweet t WHERE t.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    // Primeira página da timeline pública. Os ids são Snowflake (ordenados pelo tempo),
+    // então a ordem por id é a ordem por postTime e basta o índice da chave primária
+    @Query(TWEET_DTO + "ORDER BY t.id DESC")
+    List<TweetResponseDTO> findLatest(Pageable pageable);
+
+    // Páginas seguintes: tudo que vem estritamente antes do cursor, por intervalo na chave primária
+    @Query(TWEET_DTO + "WHERE t.id < :id ORDER BY t.id DESC")
+    List<TweetResponseDTO> findLatestBefore(@Param("id") Long id, Pageable pageable);
+
+    @Query(TWEET_DTO + "WHERE t.id IN :ids")
+    List<TweetResponseDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Tweets mais recentes de um autor (página de perfil), pelo índice (user_id, id)
+    @Query(TWEET_DTO + "WHERE u.userid = :authorId " +
+           "ORDER BY t.id DESC")
+    List<TweetResponseDTO> findLatestByAuthor(@Param("authorId") Long authorId, Pageable pageable);
+
+    // Fan-out na leitura: ids dos tweets mais recentes de um conjunto de autores.
+    // O LATERAL lê no máximo :limit linhas do índice (user_id, id) por autor; com
+    // "user_id IN (...) ORDER BY" o Postgres leria todos os tweets dos autores para ordenar
+    @Query(value = "SELECT l.id FROM tweet_user u CROSS JOIN LATERAL (" +
+                   "SELECT t.id FROM tweet t WHERE t.user_id = u.userid " +
+                   "ORDER BY t.id DESC LIMIT :limit) l " +
+                   "WHERE u.userid IN (:authorIds) " +
+                   "ORDER BY l.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findLatestIdsByAuthors(@Param("authorIds") Collection<Long> authorIds, @Param("limit") int limit);
+
+    @Query(value = "SELECT l.id FROM tweet_user u CROSS JOIN LATERAL (" +
+                   "SELECT t.id FROM tweet t WHERE t.user_id = u.userid AND t.id < :id " +
+                   "ORDER BY t.id DESC LIMIT :limit) l " +
+                   "WHERE u.userid IN (:authorIds) " +
+                   "ORDER BY l.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findLatestIdsByAuthorsBefore(@Param("authorIds") Collection<Long> authorIds,
+                                            @Param("id") Long id,
+                                            @Param("limit") int limit);
+
+    // Total de tweets do autor, contado pelo índice (user_id, id)
+    long countByTweetUserUserid(Long userId);
+
+    // Exportação: cursor no servidor lendo 1000 linhas por vez, em ordem crescente de id (Snowflake,
+    // ordenado pelo tempo); o id é único mesmo dentro do milissegundo, então serve de ponto de retomada
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(TWEET_DTO + "ORDER BY t.id")
+    Stream<TweetResponseDTO> streamAll();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(TWEET_DTO + "WHERE t.id > :id ORDER BY t.id")
+    Stream<TweetResponseDTO> streamAfter(@Param("id") Long id);
+
+    // Inclusivo: vários ids dividem o mesmo milissegundo, e um ">" perderia o resto dele
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(TWEET_DTO + "WHERE t.postTime >= :since ORDER BY t.id")
+    Stream<TweetResponseDTO> streamSince(@Param("since") Instant since);
+}
@@ -0,0 +1,14 @@
+package com.brunnoenzo.backend.repository;
+
+import java.util.Optional;
+
+import com.brunnoenzo.backend.model.TweetUser;
+
+/**
+ * (Fragmento do TweetUserRepository com a busca pelo natural id screenName.)
+ */
+public interface TweetUserNaturalIdRepository {
+
+    // Usado no login e pelo Spring Security; resolvido pelo cache de natural id quando possível
+    Optional<TweetUser> findByScreenName(String screenName);
+}
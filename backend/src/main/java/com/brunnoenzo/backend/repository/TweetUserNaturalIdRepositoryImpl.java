@@ -0,0 +1,28 @@
+package com.brunnoenzo.backend.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+
+import com.brunnoenzo.backend.model.TweetUser;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * (Implementação do fragmento de natural id.)
+ * Uma consulta derivada (WHERE screen_name = ?) sempre iria ao banco; a API de natural id do
+ * Hibernate resolve screenName -> id pela região tweetUserNaturalId e a entidade pela região tweetUser.
+ */
+public class TweetUserNaturalIdRepositoryImpl implements TweetUserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<TweetUser> findByScreenName(String screenName) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(TweetUser.class)
+                .loadOptional(screenName);
+    }
+}
@@ -1,18 +1,125 @@
 package com.brunnoenzo.backend.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.brunnoenzo.backend.dto.ResourceVersion;
 import com.brunnoenzo.backend.model.TweetUser;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 
 /**
  * (Repositório para a entidade TweetUser.)
+ * findByScreenName vem de TweetUserNaturalIdRepository e usa o cache de natural id;
+ * forEachFollowEdge vem de FollowEdgeReader e alimenta o FollowGraphIndex.
+ * Os SQLs nativos declaram o "query space" que alteram: sem isso o Hibernate esvazia
+ * todas as regiões do cache de segundo nível a cada escrita nativa.
  */
-public interface TweetUserRepository extends JpaRepository<TweetUser, Long> {
-    // Método para o Spring Security encontrar o usuário pelo nome
-    Optional<TweetUser> findByScreenName(String screenName);
-}
\ No newline at end of file
+public interface TweetUserRepository extends JpaRepository<TweetUser, Long>, TweetUserNaturalIdRepository, FollowEdgeReader {
+
+    // Validadores HTTP (ETag/Last-Modified) sem carregar a entidade
+    @Query("SELECT new com.brunnoenzo.backend.dto.ResourceVersion(u.version, u.followersCount, u.followingCount, u.updatedAt) " +
+           "FROM TweetUser u WHERE u.userid = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    // Seguir/deixar de seguir direto na tabela de junção, sem carregar a coleção "following".
+    // Idempotentes: retornam 0 quando a relação já existe / não existe (ou o alvo não existe).
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "user_following"))
+    @Query(value = "INSERT INTO user_following (user_id, following_id) " +
+                   "SELECT :userId, u.userid FROM tweet_user u WHERE u.userid = :targetId " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertFollow(@Param("userId") Long userId, @Param("targetId") Long targetId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "user_following"))
+    @Query(value = "DELETE FROM user_following WHERE user_id = :userId AND following_id = :targetId",
+           nativeQuery = true)
+    int deleteFollow(@Param("userId") Long userId, @Param("targetId") Long targetId);
+
+    // Importação em lote: insere as relações que ainda não existem e retorna os ids efetivamente seguidos
+    @Query(value = "INSERT INTO user_following (user_id, following_id) " +
+                   "SELECT :userId, u.userid FROM tweet_user u " +
+                   "WHERE u.userid IN (:targetIds) AND u.userid <> :userId " +
+                   "ON CONFLICT DO NOTHING RETURNING following_id", nativeQuery = true)
+    List<Long> insertFollows(@Param("userId") Long userId, @Param("targetIds") Collection<Long> targetIds);
+
+    // Atualizações atômicas dos contadores desnormalizados. São nativas e declaram só "user_following"
+    // para não invalidar a região inteira de TweetUser a cada follow: quem chama evicta apenas os
+    // usuários afetados (TweetUserService.evictUsers)
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "user_following"))
+    @Query(value = "UPDATE tweet_user SET followers_count = followers_count + 1, updated_at = now() WHERE userid IN (:userIds)",
+           nativeQuery = true)
+    int incrementFollowersCounts(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "user_following"))
+    @Query(value = "UPDATE tweet_user SET following_count = following_count + :delta, updated_at = now() WHERE userid = :userId",
+           nativeQuery = true)
+    int adjustFollowingCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "user_following"))
+    @Query(value = "UPDATE tweet_user SET followers_count = followers_count + :delta, updated_at = now() WHERE userid = :userId",
+           nativeQuery = true)
+    int adjustFollowersCount(@Param("userId") Long userId, @Param("delta") long delta);
+
+    // Antes de excluir um usuário, desconta-o dos contadores de quem ele segue e de quem o segue
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tweet_user"))
+    @Query(value = "UPDATE tweet_user SET followers_count = followers_count - 1, updated_at = now() " +
+                   "WHERE userid IN (SELECT following_id FROM user_following WHERE user_id = :userId)",
+           nativeQuery = true)
+    int decrementFollowersOfFollowed(@Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tweet_user"))
+    @Query(value = "UPDATE tweet_user SET following_count = following_count - 1, updated_at = now() " +
+                   "WHERE userid IN (SELECT user_id FROM user_following WHERE following_id = :userId)",
+           nativeQuery = true)
+    int decrementFollowingOfFollowers(@Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "user_following"))
+    @Query(value = "DELETE FROM user_following WHERE user_id = :userId OR following_id = :userId",
+           nativeQuery = true)
+    int deleteFollowEdges(@Param("userId") Long userId);
+
+    // Corrige contadores que divergiram da tabela user_following; retorna quantos usuários foram ajustados
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "tweet_user"))
+    @Query(value = "UPDATE tweet_user u SET followers_count = c.followers, following_count = c.following, updated_at = now() " +
+                   "FROM (SELECT t.userid, " +
+                   "(SELECT COUNT(*) FROM user_following f WHERE f.following_id = t.userid) AS followers, " +
+                   "(SELECT COUNT(*) FROM user_following f WHERE f.user_id = t.userid) AS following " +
+                   "FROM tweet_user t) c " +
+                   "WHERE u.userid = c.userid " +
+                   "AND (u.followers_count <> c.followers OR u.following_count <> c.following)",
+           nativeQuery = true)
+    int reconcileFollowCounts();
+
+    // Sub-recursos paginados (cursor = último id recebido)
+    @Query(value = "SELECT following_id FROM user_following WHERE user_id = :userId AND following_id > :after " +
+                   "ORDER BY following_id LIMIT :limit", nativeQuery = true)
+    List<Long> findFollowingIds(@Param("userId") Long userId, @Param("after") long after, @Param("limit") int limit);
+
+    @Query(value = "SELECT user_id FROM user_following WHERE following_id = :userId AND user_id > :after " +
+                   "ORDER BY user_id LIMIT :limit", nativeQuery = true)
+    List<Long> findFollowerIds(@Param("userId") Long userId, @Param("after") long after, @Param("limit") int limit);
+
+    // Usado só enquanto o FollowGraphIndex ainda não carregou
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM user_following WHERE user_id = :userId AND following_id = :targetId)",
+           nativeQuery = true)
+    boolean isFollowing(@Param("userId") Long userId, @Param("targetId") Long targetId);
+}
@@ -0,0 +1,58 @@
+package com.brunnoenzo.backend.security;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.brunnoenzo.backend.model.Role;
+
+/**
+ * (Usuário autenticado montado a partir das claims do JWT já validado, sem consultar o banco.)
+ * Os serviços usam o id para referências de chave estrangeira (getReferenceById) e
+ * o papel para verificações de dono/ADMIN; a entidade só é carregada quando necessária.
+ */
+public record AuthenticatedUser(Long id, String screenName, Role role) {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+
+    /**
+     * (Retorna o usuário da requisição atual; lança AccessDeniedException se não houver JWT.)
+     */
+    public static AuthenticatedUser current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+            throw new AccessDeniedException("Authentication required");
+        }
+        return fromJwt(jwt);
+    }
+
+    public static AuthenticatedUser fromJwt(Jwt jwt) {
+        String role = jwt.getClaimAsString("role");
+        return new AuthenticatedUser(
+                Long.parseLong(jwt.getSubject()),
+                jwt.getClaimAsString("screenName"),
+                role != null ? Role.valueOf(role) : roleFromScope(jwt.getClaimAsString("scope"))
+        );
+    }
+
+    // Tokens emitidos antes da claim "role" só têm o papel dentro de "scope" (ex.: "ROLE_ROLE_USER")
+    private static Role roleFromScope(String scope) {
+        if (scope != null) {
+            for (String authority : scope.split(" ")) {
+                String name = authority;
+                while (name.startsWith(ROLE_PREFIX)) {
+                    name = name.substring(ROLE_PREFIX.length());
+                }
+                if (Role.ADMIN.name().equals(name)) {
+                    return Role.ADMIN;
+                }
+            }
+        }
+        return Role.USER;
+    }
+}
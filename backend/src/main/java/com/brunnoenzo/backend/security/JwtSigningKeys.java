@@ -0,0 +1,149 @@
+package com.brunnoenzo.backend.security;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.util.StringUtils;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetKeyPairGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
+/**
+ * (Conjunto de chaves usado para assinar e verificar os JWTs.)
+ * Apenas a chave ativa assina; todas as chaves do conjunto verificam, o que permite
+ * rotacionar a chave (ou até trocar de algoritmo) sem invalidar os tokens já emitidos.
+ * Algoritmos suportados: RSA (RS256...), EC (ES256 com P-256...) e EdDSA (Ed25519).
+ */
+public final class JwtSigningKeys {
+
+    private final JWSAlgorithm algorithm;
+    private final JWK signingKey;
+    private final JWKSet verificationKeys;
+    private final Set<JWSAlgorithm> verificationAlgorithms;
+
+    private JwtSigningKeys(JWSAlgorithm algorithm, JWK signingKey, JWKSet verificationKeys,
+            Set<JWSAlgorithm> verificationAlgorithms) {
+        this.algorithm = algorithm;
+        this.signingKey = signingKey;
+        this.verificationKeys = verificationKeys;
+        this.verificationAlgorithms = verificationAlgorithms;
+    }
+
+    /**
+     * (Cria o conjunto com uma única chave, que assina e verifica.)
+     */
+    public static JwtSigningKeys of(JWSAlgorithm algorithm, JWK signingKey) {
+        return fromJwkSet(algorithm, new JWKSet(signingKey), signingKey.getKeyID());
+    }
+
+    /**
+     * Builds the key set from a JWK set holding the active private key and any retired keys.
+     * (Monta o conjunto a partir de um JWK Set com a chave ativa e as chaves aposentadas.)
+     * @param algorithm Algorithm used to sign new tokens.
+     * @param jwkSet Keys; retired keys may declare a different "alg" and still verify.
+     * @param activeKeyId "kid" of the signing key, or empty to use the first private key that fits the algorithm.
+     * @return Key set ready to build the encoder and decoder.
+     */
+    public static JwtSigningKeys fromJwkSet(JWSAlgorithm algorithm, JWKSet jwkSet, String activeKeyId) {
+        JWKMatcher matcher = JWKMatcher.forJWSHeader(new JWSHeader(algorithm));
+        List<JWK> candidates = jwkSet.getKeys().stream()
+                .filter(JWK::isPrivate)
+                .filter(matcher::matches)
+                .filter(key -> !StringUtils.hasText(activeKeyId) || activeKeyId.equals(key.getKeyID()))
+                .toList();
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No private JWK for " + algorithm
+                    + (StringUtils.hasText(activeKeyId) ? " with kid " + activeKeyId : ""));
+        }
+        JWK signingKey = candidates.get(0);
+
+        // O "kid" no cabeçalho do token é o que permite escolher a chave certa na verificação
+        Set<JWSAlgorithm> algorithms = new LinkedHashSet<>();
+        algorithms.add(algorithm);
+        for (JWK key : jwkSet.getKeys()) {
+            if (key.getKeyID() == null && jwkSet.size() > 1) {
+                throw new IllegalStateException("Every JWK must have a kid when rotating keys");
+            }
+            if (key.getAlgorithm() != null) {
+                algorithms.add(JWSAlgorithm.parse(key.getAlgorithm().getName()));
+            }
+        }
+        return new JwtSigningKeys(algorithm, signingKey, jwkSet.toPublicJWKSet(), Set.copyOf(algorithms));
+    }
+
+    /**
+     * (Gera uma nova chave para o algoritmo; usada em desenvolvimento e no benchmark.)
+     */
+    public static JWK generate(JWSAlgorithm algorithm) {
+        String keyId = UUID.randomUUID().toString();
+        try {
+            if (JWSAlgorithm.Family.RSA.contains(algorithm)) {
+                return new RSAKeyGenerator(2048).keyUse(KeyUse.SIGNATURE).algorithm(algorithm).keyID(keyId).generate();
+            }
+            if (JWSAlgorithm.Family.EC.contains(algorithm)) {
+                Curve curve = Curve.forJWSAlgorithm(algorithm).iterator().next();
+                return new ECKeyGenerator(curve).keyUse(KeyUse.SIGNATURE).algorithm(algorithm).keyID(keyId).generate();
+            }
+            if (JWSAlgorithm.Family.ED.contains(algorithm)) {
+                return new OctetKeyPairGenerator(Curve.Ed25519).keyUse(KeyUse.SIGNATURE).algorithm(algorithm).keyID(keyId).generate();
+            }
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not generate JWK for " + algorithm, e);
+        }
+        throw new IllegalArgumentException("Unsupported JWT algorithm: " + algorithm);
+    }
+
+    /**
+     * (Cabeçalho usado ao emitir tokens: algoritmo e "kid" da chave ativa.)
+     */
+    public JwsHeader jwsHeader() {
+        // SignatureAlgorithm do Spring não tem EdDSA, então usamos o nome do algoritmo diretamente
+        SignatureAlgorithm standard = SignatureAlgorithm.from(algorithm.getName());
+        JwsAlgorithm jwsAlgorithm = standard != null ? standard : algorithm::getName;
+        return JwsHeader.with(jwsAlgorithm).keyId(signingKey.getKeyID()).build();
+    }
+
+    /**
+     * (Encoder que só enxerga a chave ativa.)
+     */
+    public JwtEncoder encoder() {
+        return new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(signingKey)));
+    }
+
+    /**
+     * (Decoder que aceita qualquer chave pública do conjunto, escolhida pelo "kid" do token.)
+     */
+    public JwtDecoder decoder() {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(verificationAlgorithms, new ImmutableJWKSet<>(verificationKeys)));
+        // exp/nbf são validados pelo JwtValidator padrão do NimbusJwtDecoder
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+        return new NimbusJwtDecoder(processor);
+    }
+
+    public JWSAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+}
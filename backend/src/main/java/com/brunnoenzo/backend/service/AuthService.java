@@ -1,19 +1,18 @@
 package com.brunnoenzo.backend.service;
 
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 
 import com.brunnoenzo.backend.dto.AuthDTO;
+import com.brunnoenzo.backend.dto.RefreshTokenDTO;
 import com.brunnoenzo.backend.dto.TokenResponseDTO;
 import com.brunnoenzo.backend.dto.UserCreateDTO;
 import com.brunnoenzo.backend.dto.UserResponseDTO;
 import com.brunnoenzo.backend.model.TweetUser;
 import com.brunnoenzo.backend.repository.TweetUserRepository;
+import com.brunnoenzo.backend.security.PasswordHashingService;
 
 import lombok.RequiredArgsConstructor;
-import java.util.Collections;
 
 @Service
 @RequiredArgsConstructor
@@ -24,9 +23,9 @@ import java.util.Collections;
 public class AuthService {
 
     private final TweetUserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
     private final TokenService tokenService;
-    private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * Registers a new user.
@@ -41,7 +40,7 @@ public class AuthService {
 
         TweetUser newUser = new TweetUser();
         newUser.setScreenName(dto.screenName());
-        newUser.setPassword(passwordEncoder.encode(dto.password())); // Criptografa a senha
+        newUser.setPassword(passwordHashing.encode(dto.password())); // Criptografa a senha (pool de BCrypt)
         newUser.setBio(dto.bio());
         newUser.setProfileImage(dto.profileImage());
         newUser.setRole(dto.role() != null ? dto.role() : com.brunnoenzo.backend.model.Role.USER);
@@ -54,9 +53,8 @@ public class AuthService {
                 savedUser.getProfileImage(),
                 savedUser.getBio(),
                 savedUser.getRole(),
-                0, 
                 0,
-                Collections.emptySet()
+                0
         );
     }
 
@@ -67,19 +65,37 @@ public class AuthService {
      * @return DTO containing the token.
      */
     public TokenResponseDTO login(AuthDTO dto) {
-        // O AuthenticationManager usa o UserDetailsService e PasswordEncoder
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        dto.screenName(),
-                        dto.password()
-                )
-        );
-
-        // Se autenticado, busca o usuário e gera o token
-        TweetUser user = userRepository.findByScreenName(dto.screenName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // Confere a senha no pool limitado de BCrypt (503 imediato se estiver saturado).
+        // Se o usuário não existir, ainda é feita uma comparação para manter o tempo de resposta.
+        TweetUser user = userRepository.findByScreenName(dto.screenName()).orElse(null);
+        boolean matches = passwordHashing.matches(dto.password(), user != null ? user.getPassword() : null);
+        if (user == null || !matches) {
+            throw new BadCredentialsException("Invalid credentials");
+        }
 
         String token = tokenService.generateToken(user);
-        return new TokenResponseDTO(token);
+        String refreshToken = refreshTokenService.issue(user.getUserid());
+        return new TokenResponseDTO(token, refreshToken, tokenService.getExpirationSeconds());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a rotated refresh token.
+     * (Troca um refresh token por um novo access token e um novo refresh token, sem BCrypt.)
+     * @param dto Refresh token issued by login or by a previous refresh.
+     * @return DTO containing the new tokens.
+     */
+    public TokenResponseDTO refresh(RefreshTokenDTO dto) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(dto.refreshToken());
+        String token = tokenService.generateToken(rotation.user());
+        return new TokenResponseDTO(token, rotation.refreshToken(), tokenService.getExpirationSeconds());
+    }
+
+    /**
+     * Revokes a refresh token, ending that session.
+     * (Revoga um refresh token, encerrando a sessão.)
+     * @param dto Refresh token to revoke.
+     */
+    public void logout(RefreshTokenDTO dto) {
+        refreshTokenService.revoke(dto.refreshToken());
     }
 }
\ No newline at end of file
@@ -1,21 +1,27 @@
 package com.brunnoenzo.backend.service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.brunnoenzo.backend.dto.CommentCreateDTO;
+import com.brunnoenzo.backend.dto.CommentPageDTO;
 import com.brunnoenzo.backend.dto.CommentResponseDTO;
+import com.brunnoenzo.backend.dto.CommentThreadDTO;
 import com.brunnoenzo.backend.model.Comment;
-import com.brunnoenzo.backend.model.Tweet;
-import com.brunnoenzo.backend.model.TweetUser;
 import com.brunnoenzo.backend.repository.CommentRepository;
 import com.brunnoenzo.backend.repository.TweetRepository;
 import com.brunnoenzo.backend.repository.TweetUserRepository;
+import com.brunnoenzo.backend.security.AuthenticatedUser;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -32,20 +38,38 @@ public class CommentService {
     private final TweetRepository tweetRepository;
     private final TweetUserRepository userRepository;
 
-    private TweetUser getAuthenticatedUser() {
-        String userIdStr = SecurityContextHolder.getContext().getAuthentication().getName();
-        Long userId = Long.parseLong(userIdStr);
+    @Value("${application.pagination.default-size:20}")
+    private int defaultPageSize;
 
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("Authenticated user not found"));
+    @Value("${application.pagination.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${application.comments.thread.max-depth:10}")
+    private int maxThreadDepth;
+
+    @Value("${application.comments.thread.max-fan-out:50}")
+    private int maxThreadFanOut;
+
+    @Value("${application.comments.thread.max-nodes:500}")
+    private int maxThreadNodes;
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(limit, maxPageSize));
     }
 
-    private CommentResponseDTO mapToCommentResponseDTO(Comment comment) {
+    /**
+     * (Converte um comentário do próprio usuário autenticado para CommentResponseDTO.)
+     * O autor vem das claims do JWT; os ids de tweet e pai vêm dos proxies, sem consultas extras.
+     */
+    private CommentResponseDTO mapToCommentResponseDTO(Comment comment, AuthenticatedUser author) {
         return new CommentResponseDTO(
                 comment.getId(),
                 comment.getContent(),
                 comment.getPostTime(),
-                comment.getAuthor().getScreenName(),
+                author.screenName(),
                 comment.getTweet().getId(),
                 comment.getParentComment() != null ? comment.getParentComment().getId() : null
         );
@@ -53,41 +77,138 @@ public class CommentService {
 
     @Transactional
     public CommentResponseDTO createCommentOnTweet(Long tweetId, CommentCreateDTO dto) {
-        TweetUser user = getAuthenticatedUser();
-        Tweet tweet = tweetRepository.findById(tweetId)
-                .orElseThrow(() -> new EntityNotFoundException("Tweet not found"));
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (!tweetRepository.existsById(tweetId)) {
+            throw new EntityNotFoundException("Tweet not found");
+        }
 
+        // Apenas as chaves estrangeiras são necessárias: usa referências em vez de carregar as entidades
         Comment newComment = new Comment();
         newComment.setContent(dto.content());
-        newComment.setAuthor(user);
-        newComment.setTweet(tweet);
+        newComment.setAuthor(userRepository.getReferenceById(user.id()));
+        newComment.setTweet(tweetRepository.getReferenceById(tweetId));
         newComment.setParentComment(null);
 
         Comment savedComment = commentRepository.save(newComment);
-        return mapToCommentResponseDTO(savedComment);
+        return mapToCommentResponseDTO(savedComment, user);
+    }
+
+    /**
+     * Creates a reply to an existing comment, on the same tweet.
+     * (Cria uma resposta a um comentário existente, no mesmo tweet.)
+     * @param parentId Comment being replied to.
+     * @param dto Reply content.
+     * @return DTO of the created reply.
+     */
+    @Transactional
+    public CommentResponseDTO createReply(Long parentId, CommentCreateDTO dto) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        Comment parent = commentRepository.findById(parentId)
+                .orElseThrow(() -> new EntityNotFoundException("Comment not found"));
+
+        Comment reply = new Comment();
+        reply.setContent(dto.content());
+        reply.setAuthor(userRepository.getReferenceById(user.id()));
+        reply.setTweet(parent.getTweet());
+        reply.setParentComment(parent);
+
+        Comment savedReply = commentRepository.save(reply);
+        return mapToCommentResponseDTO(savedReply, user);
+    }
+
+    /**
+     * Loads a comment and its reply subtree with one recursive query.
+     * (Carrega um comentário e sua sub-árvore de respostas com uma única consulta recursiva.)
+     * @param id Root comment of the thread.
+     * @param depth Maximum number of reply levels below the root.
+     * @param fanOut Maximum number of replies loaded per comment.
+     * @return Root comment with nested replies, oldest first on each level.
+     */
+    @Transactional(readOnly = true)
+    public CommentThreadDTO getThread(Long id, Integer depth, Integer fanOut) {
+        int maxDepth = depth == null ? maxThreadDepth : Math.max(0, Math.min(depth, maxThreadDepth));
+        int maxFanOut = fanOut == null ? maxThreadFanOut : Math.max(1, Math.min(fanOut, maxThreadFanOut));
+
+        List<Long> ids = commentRepository.findThreadIds(id, maxDepth, maxFanOut, maxThreadNodes);
+        if (ids.isEmpty()) {
+            throw new EntityNotFoundException("Comment not found");
+        }
+
+        List<CommentResponseDTO> comments = new ArrayList<>(commentRepository.findDtosByIdIn(ids));
+        comments.sort(Comparator.comparing(CommentResponseDTO::id));
+
+        // Monta a árvore em uma passada: em ordem de id (a ordem do tempo) o pai sempre vem antes
+        // das respostas, então cada nó já encontra o pai no mapa e as listas saem ordenadas
+        Map<Long, CommentThreadDTO> nodes = new HashMap<>();
+        for (CommentResponseDTO comment : comments) {
+            CommentThreadDTO node = mapToCommentThreadDTO(comment);
+            nodes.put(node.id(), node);
+            if (!node.id().equals(id)) {
+                CommentThreadDTO parent = nodes.get(node.parentCommentId());
+                if (parent != null) {
+                    parent.replies().add(node);
+                }
+            }
+        }
+        return nodes.get(id);
     }
 
+    private CommentThreadDTO mapToCommentThreadDTO(CommentResponseDTO comment) {
+        return new CommentThreadDTO(
+                comment.id(),
+                comment.content(),
+                comment.postTime(),
+                comment.authorScreenName(),
+                comment.tweetId(),
+                comment.parentCommentId(),
+                new ArrayList<>()
+        );
+    }
+
+    /**
+     * Returns one page of a tweet's comments, newest first.
+     * (Retorna uma página dos comentários de um tweet, do mais recente ao mais antigo.)
+     * @param tweetId Tweet whose comments are listed.
+     * @param before Opaque cursor returned by the previous page, or null for the first page.
+     * @param limit Requested page size.
+     * @return Page of comments, the cursor for the next page and the total comment count.
+     */
     @Transactional(readOnly = true)
-    public List<CommentResponseDTO> getCommentsForTweet(Long tweetId) {
+    public CommentPageDTO getCommentsForTweet(Long tweetId, String before, Integer limit) {
         if (!tweetRepository.existsById(tweetId)) {
             throw new EntityNotFoundException("Tweet not found");
         }
-        
-        return commentRepository.findAll().stream()
-                .filter(comment -> comment.getTweet().getId().equals(tweetId))
-                .map(this::mapToCommentResponseDTO)
-                .collect(Collectors.toList());
+
+        int pageSize = resolvePageSize(limit);
+        // Busca um item a mais para saber se existe próxima página
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<CommentResponseDTO> items;
+        if (before == null || before.isBlank()) {
+            items = commentRepository.findLatestByTweetId(tweetId, pageable);
+        } else {
+            PageCursor cursor = PageCursor.decode(before);
+            items = commentRepository.findLatestByTweetIdBefore(tweetId, cursor.id(), pageable);
+        }
+
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            CommentResponseDTO last = items.get(pageSize - 1);
+            nextCursor = new PageCursor(last.id()).encode();
+        }
+
+        return new CommentPageDTO(items, nextCursor, commentRepository.countByTweetId(tweetId));
     }
 
     @Transactional
     public void deleteComment(Long id) {
-        TweetUser user = getAuthenticatedUser();
+        AuthenticatedUser user = AuthenticatedUser.current();
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Comment not found"));
 
         // Só permite deletar se for o dono do comentário OU se for ADMIN
-        if (!comment.getAuthor().getUserid().equals(user.getUserid()) &&
-            !user.getRole().name().equals("ADMIN")) {
+        if (!comment.getAuthor().getUserid().equals(user.id()) && !user.isAdmin()) {
             throw new AccessDeniedException("You are not allowed to delete this comment");
         }
 
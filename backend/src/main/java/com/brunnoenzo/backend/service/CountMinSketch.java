@@ -0,0 +1,65 @@
+package com.brunnoenzo.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * (Count-min sketch: contagem aproximada de frequências em memória fixa.)
+ * Cada linha usa um hash diferente; a estimativa é o mínimo entre as linhas e nunca fica abaixo
+ * do valor real. Como é linear, um sketch pode ser somado ou subtraído de outro de mesmo tamanho,
+ * o que permite manter o total da janela deslizante sem recalcular.
+ * Não é thread-safe: o acesso é protegido pelo TrendTracker.
+ */
+final class CountMinSketch {
+
+    private final int width;
+    private final int[][] counts;
+
+    CountMinSketch(int depth, int width) {
+        this.width = width;
+        this.counts = new int[depth][width];
+    }
+
+    void add(String key, int amount) {
+        int hash = key.hashCode();
+        for (int row = 0; row < counts.length; row++) {
+            counts[row][index(hash, row)] += amount;
+        }
+    }
+
+    long estimate(String key) {
+        int hash = key.hashCode();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < counts.length; row++) {
+            min = Math.min(min, counts[row][index(hash, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * (Subtrai as contagens de outro sketch de mesmas dimensões.)
+     */
+    void subtract(CountMinSketch other) {
+        for (int row = 0; row < counts.length; row++) {
+            for (int column = 0; column < width; column++) {
+                counts[row][column] -= other.counts[row][column];
+            }
+        }
+    }
+
+    void clear() {
+        for (int[] row : counts) {
+            Arrays.fill(row, 0);
+        }
+    }
+
+    // Mistura o hashCode com uma semente por linha (finalizador do MurmurHash3)
+    private int index(int hash, int row) {
+        int h = hash ^ (0x9E3779B9 * (row + 1));
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, width);
+    }
+}
@@ -0,0 +1,83 @@
+package com.brunnoenzo.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.brunnoenzo.backend.dto.TweetResponseDTO;
+import com.brunnoenzo.backend.repository.CommentRepository;
+import com.brunnoenzo.backend.repository.TweetRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+
+/**
+ * (Serviço de exportação em NDJSON: um objeto JSON por linha, lido de um cursor no servidor.)
+ * As linhas são projetadas direto para DTOs, então nada fica no contexto de persistência e o
+ * uso de memória não depende do tamanho da tabela.
+ */
+public class ExportService {
+
+    private final TweetRepository tweetRepository;
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+    private final LikeService likeService;
+
+    /**
+     * Streams every tweet, oldest first, as NDJSON.
+     * (Escreve todos os tweets, do mais antigo ao mais novo, em NDJSON.)
+     * Para retomar uma exportação, use after com o id da última linha recebida.
+     * @param after Only tweets with an id greater than this one; takes precedence over since.
+     * @param since Only tweets posted at or after this instant; null (with after) exports everything.
+     * @param out Response body.
+     */
+    @Transactional(readOnly = true)
+    public void exportTweets(Long after, Instant since, OutputStream out) throws IOException {
+        Stream<TweetResponseDTO> source = after != null ? tweetRepository.streamAfter(after)
+                : since != null ? tweetRepository.streamSince(since)
+                : tweetRepository.streamAll();
+        // O cursor do PostgreSQL só respeita o fetch size dentro de uma transação
+        try (Stream<TweetResponseDTO> rows = source) {
+            // A contagem de curtidas vem da memória, sem consulta extra por linha
+            writeNdjson(rows.map(likeService::withLikeCount), out);
+        }
+    }
+
+    /**
+     * Streams every comment, oldest first, as NDJSON.
+     * (Escreve todos os comentários, do mais antigo ao mais novo, em NDJSON.)
+     * @param after Only comments with an id greater than this one; takes precedence over since.
+     * @param since Only comments posted at or after this instant; null (with after) exports everything.
+     * @param out Response body.
+     */
+    @Transactional(readOnly = true)
+    public void exportComments(Long after, Instant since, OutputStream out) throws IOException {
+        Stream<?> source = after != null ? commentRepository.streamAfter(after)
+                : since != null ? commentRepository.streamSince(since)
+                : commentRepository.streamAll();
+        try (Stream<?> rows = source) {
+            writeNdjson(rows, out);
+        }
+    }
+
+    private void writeNdjson(Stream<?> rows, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // Quem fecha o corpo da resposta é o container
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
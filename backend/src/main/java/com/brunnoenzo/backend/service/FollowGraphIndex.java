@@ -0,0 +1,341 @@
+package com.brunnoenzo.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.brunnoenzo.backend.repository.TweetUserRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+
+/**
+ * (Índice em memória do grafo de follows, fora do JPA.)
+ * Cada usuário tem dois long[] ordenados: quem ele segue e quem o segue. Uma aresta custa 16 bytes
+ * (um long em cada sentido) em vez de uma entidade, e as perguntas viram busca binária ou
+ * interseção de arrays ordenados. Os arrays nunca são alterados no lugar: cada escrita publica um
+ * array novo (copy-on-write), então as leituras não usam lock. As escritas são serializadas e
+ * custam O(grau) do usuário, um preço aceitável porque follows são bem mais raros que leituras.
+ */
+public class FollowGraphIndex {
+
+    private static final long[] EMPTY = new long[0];
+    // Espera entre tentativas de carga: dobra a cada falha até o máximo
+    private static final long INITIAL_RETRY_DELAY_MS = 1_000;
+    private static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    private final TweetUserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile Map<Long, long[]> following = new ConcurrentHashMap<>();
+    private volatile Map<Long, long[]> followers = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    // Escritas feitas durante a carga, reaplicadas sobre o grafo carregado antes de publicá-lo
+    private final List<Runnable> writesDuringLoad = new ArrayList<>();
+    private boolean loading;
+
+    public FollowGraphIndex(
+            TweetUserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        Gauge.builder("follow_graph.users", this, index -> index.following.size()).register(meterRegistry);
+    }
+
+    /**
+     * (Indica se o grafo já foi carregado; antes disso quem consulta deve usar o banco.)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean isFollowing(long userId, long targetId) {
+        return Arrays.binarySearch(following.getOrDefault(userId, EMPTY), targetId) >= 0;
+    }
+
+    /**
+     * Returns up to {@code limit} ids the user follows, greater than {@code after}.
+     * (Página dos ids seguidos pelo usuário, em ordem crescente.)
+     */
+    public long[] getFollowing(long userId, long after, int limit) {
+        return page(following.getOrDefault(userId, EMPTY), after, limit);
+    }
+
+    /**
+     * (Página dos ids dos seguidores do usuário, em ordem crescente.)
+     */
+    public long[] getFollowers(long userId, long after, int limit) {
+        return page(followers.getOrDefault(userId, EMPTY), after, limit);
+    }
+
+    /**
+     * (Seguidores em comum de dois usuários: interseção dos dois arrays de seguidores.)
+     */
+    public long[] getCommonFollowers(long userId, long otherId, long after, int limit) {
+        return intersect(followers.getOrDefault(userId, EMPTY), followers.getOrDefault(otherId, EMPTY), after, limit);
+    }
+
+    /**
+     * (Contas que o usuário segue e que o seguem de volta.)
+     */
+    public long[] getMutuals(long userId, long after, int limit) {
+        return intersect(following.getOrDefault(userId, EMPTY), followers.getOrDefault(userId, EMPTY), after, limit);
+    }
+
+    /**
+     * (Registra follows depois que a transação atual confirmar.)
+     */
+    public void followAfterCommit(long userId, Collection<Long> targetIds) {
+        afterCommit(() -> write(() -> targetIds.forEach(targetId -> addEdge(userId, targetId))));
+    }
+
+    public void unfollowAfterCommit(long userId, long targetId) {
+        afterCommit(() -> write(() -> removeEdge(userId, targetId)));
+    }
+
+    /**
+     * (Remove o usuário e todas as suas arestas depois que a transação atual confirmar.)
+     */
+    public void removeUserAfterCommit(long userId) {
+        afterCommit(() -> write(() -> {
+            for (long targetId : following.getOrDefault(userId, EMPTY)) {
+                removeEdge(userId, targetId);
+            }
+            for (long followerId : followers.getOrDefault(userId, EMPTY)) {
+                removeEdge(followerId, userId);
+            }
+        }));
+    }
+
+    private synchronized void write(Runnable change) {
+        change.run();
+        if (loading) {
+            writesDuringLoad.add(change);
+        }
+    }
+
+    private void addEdge(long userId, long targetId) {
+        following.compute(userId, (id, ids) -> insert(ids, targetId));
+        followers.compute(targetId, (id, ids) -> insert(ids, userId));
+    }
+
+    private void removeEdge(long userId, long targetId) {
+        following.computeIfPresent(userId, (id, ids) -> delete(ids, targetId));
+        followers.computeIfPresent(targetId, (id, ids) -> delete(ids, userId));
+    }
+
+    /**
+     * (Carrega o grafo inteiro de user_following em streaming, sem bloquear a subida.)
+     * Se a carga falha (ex.: banco indisponível), tenta de novo com espera exponencial: as
+     * interseções (mutuals, seguidores em comum) só existem em memória e ficam em 503 até lá.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread.ofVirtual().name("follow-graph-load").start(this::loadWithRetry);
+    }
+
+    private void loadWithRetry() {
+        long delay = INITIAL_RETRY_DELAY_MS;
+        while (!load()) {
+            log.warn("Retrying follow graph load in {} ms", delay);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delay = Math.min(delay * 2, MAX_RETRY_DELAY_MS);
+        }
+    }
+
+    // Retorna false se a carga falhou
+    private boolean load() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            loading = true;
+            writesDuringLoad.clear();
+        }
+        try {
+            Map<Long, long[]> loadedFollowing = new ConcurrentHashMap<>();
+            Map<Long, LongList> incoming = new HashMap<>();
+            LongList current = new LongList();
+            long[] currentUser = {-1};
+            long[] edges = {0};
+
+            readOnlyTransaction.executeWithoutResult(status -> userRepository.forEachFollowEdge((userId, followingId) -> {
+                // As arestas chegam ordenadas por (user_id, following_id): cada lista de saída já sai pronta
+                if (userId != currentUser[0]) {
+                    if (currentUser[0] >= 0 && current.size > 0) {
+                        loadedFollowing.put(currentUser[0], current.toArray());
+                    }
+                    current.clear();
+                    currentUser[0] = userId;
+                }
+                current.add(followingId);
+                incoming.computeIfAbsent(followingId, id -> new LongList()).add(userId);
+                edges[0]++;
+            }));
+            if (currentUser[0] >= 0 && current.size > 0) {
+                loadedFollowing.put(currentUser[0], current.toArray());
+            }
+
+            Map<Long, long[]> loadedFollowers = new ConcurrentHashMap<>(incoming.size());
+            incoming.forEach((userId, list) -> {
+                long[] ids = list.toArray();
+                Arrays.sort(ids);
+                loadedFollowers.put(userId, ids);
+            });
+
+            synchronized (this) {
+                following = loadedFollowing;
+                followers = loadedFollowers;
+                writesDuringLoad.forEach(Runnable::run);
+                ready = true;
+            }
+            log.info("Follow graph loaded with {} edges in {} ms", edges[0], System.currentTimeMillis() - start);
+            return true;
+        } catch (RuntimeException e) {
+            // Enquanto isso seguindo/seguidores usam o banco; mutuals e seguidores em comum respondem 503
+            log.error("Follow graph load failed", e);
+            return false;
+        } finally {
+            synchronized (this) {
+                loading = false;
+                writesDuringLoad.clear();
+            }
+        }
+    }
+
+    // Até limit ids maiores que after, a partir de uma busca binária
+    static long[] page(long[] ids, long after, int limit) {
+        int from = firstGreaterThan(ids, 0, after);
+        return Arrays.copyOfRange(ids, from, Math.min(ids.length, from + limit));
+    }
+
+    /**
+     * (Interseção de dois arrays ordenados, parando ao juntar limit ids.)
+     * Percorre o menor e procura no maior por busca exponencial (galloping): quando um usuário tem
+     * poucos seguidores e o outro milhões, o custo fica perto de O(menor * log maior).
+     */
+    static long[] intersect(long[] a, long[] b, long after, int limit) {
+        long[] small = a.length <= b.length ? a : b;
+        long[] large = small == a ? b : a;
+        LongList result = new LongList();
+        int position = firstGreaterThan(large, 0, after);
+        for (int i = firstGreaterThan(small, 0, after); i < small.length && result.size < limit; i++) {
+            long id = small[i];
+            position = gallop(large, position, id);
+            if (position >= large.length) {
+                break;
+            }
+            if (large[position] == id) {
+                result.add(id);
+            }
+        }
+        return result.toArray();
+    }
+
+    // Primeira posição a partir de from com valor >= target
+    private static int gallop(long[] ids, int from, long target) {
+        int bound = 1;
+        while (from + bound < ids.length && ids[from + bound] < target) {
+            bound <<= 1;
+        }
+        int low = from + (bound >> 1);
+        int high = Math.min(ids.length, from + bound + 1);
+        int found = Arrays.binarySearch(ids, low, high, target);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    private static int firstGreaterThan(long[] ids, int from, long value) {
+        int found = Arrays.binarySearch(ids, from, ids.length, value);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        if (ids == null) {
+            return new long[] {id};
+        }
+        int found = Arrays.binarySearch(ids, id);
+        if (found >= 0) {
+            return ids;
+        }
+        int at = -found - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, at);
+        copy[at] = id;
+        System.arraycopy(ids, at, copy, at + 1, ids.length - at);
+        return copy;
+    }
+
+    // Retorna null quando o array fica vazio, o que remove a chave do mapa
+    private static long[] delete(long[] ids, long id) {
+        int found = Arrays.binarySearch(ids, id);
+        if (found < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, found);
+        System.arraycopy(ids, found + 1, copy, found, ids.length - found - 1);
+        return copy;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * (Lista de long primitivo que cresce sob demanda; usada na carga e nas interseções.)
+     */
+    private static final class LongList {
+
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
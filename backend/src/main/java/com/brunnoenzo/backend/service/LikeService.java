@@ -0,0 +1,260 @@
+package com.brunnoenzo.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.brunnoenzo.backend.dto.LikeStatusDTO;
+import com.brunnoenzo.backend.dto.TweetResponseDTO;
+import com.brunnoenzo.backend.repository.TweetLikeRepository;
+import com.brunnoenzo.backend.repository.TweetRepository;
+import com.brunnoenzo.backend.security.AuthenticatedUser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+
+/**
+ * (Serviço de curtidas com contadores em memória e persistência em lote.)
+ * A contagem de cada tweet é um LongAdder (contador particionado, sem disputa entre threads) e é
+ * ela que as respostas exibem. Curtir/descurtir só registra a intenção em memória; a cada intervalo
+ * as linhas (usuário, tweet) são gravadas em lote, e os deltas reais somados a tweet_like_count.
+ * O contador é atualizado de forma otimista na requisição e corrigido no flush com o que o banco
+ * realmente mudou (ex.: curtida repetida depois de um flush). Na subida, os totais são recarregados
+ * antes de o serviço receber tráfego.
+ */
+public class LikeService {
+
+    private static final int MAX_IDS_PER_STATEMENT = 1000;
+
+    private record LikeKey(Long userId, Long tweetId) {}
+
+    // Estado pedido para (usuário, tweet) e quanto já foi somado ao contador por conta dele desde o último flush
+    private record PendingLike(boolean liked, int optimisticDelta) {}
+
+    private final TweetLikeRepository likeRepository;
+    private final TweetRepository tweetRepository;
+    private final ResponseCache responseCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ConcurrentHashMap<Long, LongAdder> counts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<LikeKey, PendingLike> pending = new ConcurrentHashMap<>();
+    private final Counter flushedRows;
+
+    public LikeService(
+            TweetLikeRepository likeRepository,
+            TweetRepository tweetRepository,
+            ResponseCache responseCache,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.likeRepository = likeRepository;
+        this.tweetRepository = tweetRepository;
+        this.responseCache = responseCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.flushedRows = Counter.builder("likes.flushed_rows").register(meterRegistry);
+        Gauge.builder("likes.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * (Curte um tweet em nome do usuário autenticado; idempotente.)
+     */
+    public LikeStatusDTO like(Long tweetId) {
+        return setLiked(tweetId, true);
+    }
+
+    /**
+     * (Remove a curtida do usuário autenticado; idempotente.)
+     */
+    public LikeStatusDTO unlike(Long tweetId) {
+        return setLiked(tweetId, false);
+    }
+
+    private LikeStatusDTO setLiked(Long tweetId, boolean liked) {
+        // findById é resolvido pelo cache de segundo nível na maioria das vezes
+        if (tweetRepository.findById(tweetId).isEmpty()) {
+            throw new EntityNotFoundException("Tweet not found");
+        }
+        LikeKey key = new LikeKey(AuthenticatedUser.current().id(), tweetId);
+        int[] applied = {0};
+        pending.compute(key, (k, current) -> {
+            if (current != null && current.liked() == liked) {
+                return current;
+            }
+            // Sem estado pendente o banco é desconhecido: assume que muda e o flush corrige se não mudou
+            applied[0] = liked ? 1 : -1;
+            int delta = (current == null ? 0 : current.optimisticDelta()) + applied[0];
+            return new PendingLike(liked, delta);
+        });
+        if (applied[0] != 0) {
+            counts.computeIfAbsent(tweetId, id -> new LongAdder()).add(applied[0]);
+        }
+        return new LikeStatusDTO(tweetId, liked, getLikeCount(tweetId));
+    }
+
+    public long getLikeCount(Long tweetId) {
+        LongAdder count = counts.get(tweetId);
+        return count == null ? 0 : Math.max(0, count.sum());
+    }
+
+    /**
+     * (Preenche a contagem de curtidas, lida da memória, em tweets vindos do banco.)
+     */
+    public TweetResponseDTO withLikeCount(TweetResponseDTO tweet) {
+        return tweet.withLikeCount(getLikeCount(tweet.id()));
+    }
+
+    public List<TweetResponseDTO> withLikeCounts(List<TweetResponseDTO> tweets) {
+        return tweets.stream().map(this::withLikeCount).toList();
+    }
+
+    /**
+     * (Grava em lote as curtidas pendentes e soma os deltas reais aos totais persistidos.)
+     * Cada entrada é retirada do mapa só se não mudou desde a leitura; as que mudaram no meio
+     * ficam para o próximo flush, inteiras.
+     */
+    @Scheduled(fixedDelayString = "${application.likes.flush-interval-ms:1000}")
+    public void flush() {
+        Map<LikeKey, PendingLike> claimed = new HashMap<>();
+        for (Map.Entry<LikeKey, PendingLike> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                claimed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Long>> likesByTweet = new HashMap<>();
+        Map<Long, List<Long>> unlikesByTweet = new HashMap<>();
+        Map<Long, Long> optimisticByTweet = new HashMap<>();
+        claimed.forEach((key, like) -> {
+            (like.liked() ? likesByTweet : unlikesByTweet)
+                    .computeIfAbsent(key.tweetId(), id -> new ArrayList<>()).add(key.userId());
+            optimisticByTweet.merge(key.tweetId(), (long) like.optimisticDelta(), Long::sum);
+        });
+
+        Map<Long, Long> realByTweet;
+        try {
+            realByTweet = transactionTemplate.execute(status -> {
+                Map<Long, Long> real = new HashMap<>();
+                likesByTweet.forEach((tweetId, userIds) ->
+                        real.merge(tweetId, (long) forChunks(userIds, chunk -> likeRepository.insertLikes(tweetId, chunk)), Long::sum));
+                unlikesByTweet.forEach((tweetId, userIds) ->
+                        real.merge(tweetId, (long) -forChunks(userIds, chunk -> likeRepository.deleteLikes(tweetId, chunk)), Long::sum));
+                real.values().removeIf(delta -> delta == 0);
+                likeRepository.upsertCounts(real);
+                return real;
+            });
+        } catch (RuntimeException e) {
+            // Devolve o lote ao mapa, combinando com o que chegou enquanto isso
+            log.warn("Like flush failed, retrying on the next run: {}", e.getMessage());
+            claimed.forEach((key, like) -> pending.merge(key, like, (older, newer) ->
+                    new PendingLike(newer.liked(), older.optimisticDelta() + newer.optimisticDelta())));
+            return;
+        }
+
+        flushedRows.increment(claimed.size());
+        optimisticByTweet.forEach((tweetId, optimistic) -> {
+            long real = realByTweet.getOrDefault(tweetId, 0L);
+            if (real != optimistic) {
+                // computeIfPresent: um tweet excluído no meio não volta a ter contador
+                counts.computeIfPresent(tweetId, (id, count) -> {
+                    count.add(real - optimistic);
+                    return count;
+                });
+            }
+            if (real != 0 || optimistic != 0) {
+                responseCache.invalidate(ResponseCache.TWEET, tweetId);
+            }
+        });
+    }
+
+    private static int forChunks(List<Long> ids, Function<List<Long>, List<Long>> statement) {
+        int changed = 0;
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_STATEMENT) {
+            changed += statement.apply(ids.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, ids.size()))).size();
+        }
+        return changed;
+    }
+
+    /**
+     * (Remove curtidas e totais dos tweets excluídos; os contadores saem da memória após o commit.)
+     */
+    public void onTweetsDeleted(Collection<Long> tweetIds) {
+        if (tweetIds.isEmpty()) {
+            return;
+        }
+        likeRepository.deleteAllByTweets(tweetIds);
+        likeRepository.deleteCounts(tweetIds);
+        afterCommit(() -> tweetIds.forEach(counts::remove));
+    }
+
+    /**
+     * (Remove as curtidas de um usuário excluído e desconta dos tweets que ele curtiu.)
+     */
+    public void onUserDeleted(Long userId) {
+        Map<Long, Long> deltas = new HashMap<>();
+        likeRepository.deleteAllByUser(userId).forEach(tweetId -> deltas.merge(tweetId, -1L, Long::sum));
+        likeRepository.upsertCounts(deltas);
+        afterCommit(() -> deltas.forEach((tweetId, delta) -> counts.computeIfPresent(tweetId, (id, count) -> {
+            count.add(delta);
+            return count;
+        })));
+    }
+
+    /**
+     * (Recarrega os contadores a partir dos totais persistidos.)
+     * Roda na criação do bean, antes de o @Scheduled flush e o servidor HTTP começarem: assim
+     * nenhum delta é gravado em tweet_like_count e somado ao contador ao mesmo tempo.
+     */
+    @PostConstruct
+    public void reloadCounts() {
+        int[] loaded = {0};
+        readOnlyTransaction.executeWithoutResult(status -> likeRepository.forEachCount((tweetId, count) -> {
+            counts.computeIfAbsent(tweetId, id -> new LongAdder()).add(count);
+            loaded[0]++;
+        }));
+        log.info("Loaded like counts for {} tweets", loaded[0]);
+    }
+
+    // Não perde as curtidas do último intervalo num desligamento normal
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.brunnoenzo.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * (Cursor opaco usado na paginação por chave primária.)
+ * Os ids são Snowflake (ordenados pelo tempo), então "id menor que o cursor" é exatamente
+ * "mais antigo que o último item" e a consulta usa só o índice da chave.
+ */
+public record PageCursor(Long id) {
+
+    // Separador do formato anterior "postTime|id", ainda aceito na decodificação
+    private static final char LEGACY_SEPARATOR = '|';
+
+    /**
+     * (Codifica o cursor em uma string base64 segura para URL.)
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * (Decodifica um cursor recebido do cliente; lança IllegalArgumentException se for inválido.)
+     * Cursores antigos (postTime|id) continuam válidos: só o id é usado.
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(LEGACY_SEPARATOR);
+            return new PageCursor(Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException também é uma IllegalArgumentException
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.brunnoenzo.backend.service;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * (Lista de ocorrências de um termo, comprimida em bytes.)
+ * Guarda pares (ordinal do documento, frequência do termo) em ordem crescente de ordinal, com o
+ * ordinal codificado como diferença para o anterior em varint. O TweetSearchIndex dá um ordinal
+ * novo e crescente a cada (re)indexação, então a lista só recebe acréscimos no fim. Remoções não
+ * mexem nos bytes: o documento vira tombstone no índice, a busca o ignora e a compactação
+ * periódica descarta as entradas mortas.
+ * Não é thread-safe: o acesso é protegido pelo lock do TweetSearchIndex. Como os bytes antes de
+ * length nunca são reescritos, um Snapshot pode ser lido fora do lock.
+ */
+final class PostingList {
+
+    @FunctionalInterface
+    interface PostingConsumer {
+        void accept(int ordinal, int frequency);
+    }
+
+    /**
+     * (Prefixo imutável da lista, para compactar sem segurar o lock.)
+     */
+    record Snapshot(byte[] data, int length, int lastOrdinal) {}
+
+    private byte[] data = new byte[16];
+    private int length;
+    private int count;
+    private int deleted;
+    private int lastOrdinal = -1;
+
+    // Entradas na lista, incluindo as de documentos removidos ainda não compactadas
+    int count() {
+        return count;
+    }
+
+    int liveCount() {
+        return count - deleted;
+    }
+
+    int deletedCount() {
+        return deleted;
+    }
+
+    /**
+     * (Acrescenta um documento no fim da lista; o ordinal precisa ser maior que o último.)
+     */
+    void add(int ordinal, int frequency) {
+        if (ordinal <= lastOrdinal) {
+            throw new IllegalArgumentException("Ordinal " + ordinal + " is not greater than " + lastOrdinal);
+        }
+        ensureCapacity(10);
+        writeVarint(ordinal - lastOrdinal);
+        writeVarint(frequency);
+        lastOrdinal = ordinal;
+        count++;
+    }
+
+    /**
+     * (Conta uma entrada desta lista cujo documento foi removido.)
+     */
+    void markDeleted() {
+        deleted++;
+    }
+
+    void forEach(PostingConsumer consumer) {
+        decode(data, 0, length, -1, consumer);
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(data, length, lastOrdinal);
+    }
+
+    /**
+     * (Copia o trecho do snapshot sem as entradas removidas; roda fora do lock.)
+     */
+    static PostingList compact(Snapshot snapshot, IntPredicate isDeleted) {
+        PostingList compacted = new PostingList();
+        decode(snapshot.data(), 0, snapshot.length(), -1, (ordinal, frequency) -> {
+            if (!isDeleted.test(ordinal)) {
+                compacted.add(ordinal, frequency);
+            }
+        });
+        return compacted;
+    }
+
+    /**
+     * (Assume o conteúdo compactado, junto com o que foi acrescentado depois do snapshot.)
+     * Chamado com o lock de escrita; o custo é só o do trecho acrescentado.
+     */
+    void replaceWith(PostingList compacted, Snapshot snapshot, IntPredicate isDeleted) {
+        decode(data, snapshot.length(), length, snapshot.lastOrdinal(), (ordinal, frequency) -> {
+            if (!isDeleted.test(ordinal)) {
+                compacted.add(ordinal, frequency);
+            }
+        });
+        // Tudo o que saiu era tombstone já contado em deleted
+        deleted -= count - compacted.count;
+        data = compacted.data;
+        length = compacted.length;
+        count = compacted.count;
+        lastOrdinal = Math.max(lastOrdinal, compacted.lastOrdinal);
+    }
+
+    private static void decode(byte[] data, int from, int to, int previous, PostingConsumer consumer) {
+        int position = from;
+        int ordinal = previous;
+        while (position < to) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            int frequency = 0;
+            shift = 0;
+            do {
+                b = data[position++];
+                frequency |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            ordinal += delta;
+            consumer.accept(ordinal, frequency);
+        }
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.brunnoenzo.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.brunnoenzo.backend.dto.CommentPageDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+
+/**
+ * (Camada na frente das leituras mais disputadas que une chamadas idênticas simultâneas.)
+ * Quando um tweet viraliza, centenas de requisições pedem as mesmas páginas de comentários ao
+ * mesmo tempo; só a primeira abre transação e consulta o banco, as demais esperam o resultado.
+ * Fica fora das transações de propósito: quem espera não segura uma conexão do pool.
+ * O tweet por id não passa por aqui: o ResponseCache já carrega uma vez por chave (Caffeine).
+ */
+public class ReadCoalescer {
+
+    private final CommentService commentService;
+    private final SingleFlight<CommentPageKey, CommentPageDTO> commentPages;
+
+    private record CommentPageKey(Long tweetId, String before, Integer limit) {}
+
+    public ReadCoalescer(
+            CommentService commentService,
+            MeterRegistry meterRegistry,
+            @Value("${application.single-flight.max-keys:10000}") int maxKeys) {
+        this.commentService = commentService;
+        this.commentPages = new SingleFlight<>("tweetComments", maxKeys, meterRegistry);
+    }
+
+    /**
+     * (Retorna uma página de comentários de um tweet, compartilhando a consulta com chamadas simultâneas.)
+     */
+    public CommentPageDTO getCommentsForTweet(Long tweetId, String before, Integer limit) {
+        CommentPageKey key = new CommentPageKey(tweetId, before, limit);
+        return commentPages.execute(key, () -> commentService.getCommentsForTweet(tweetId, before, limit));
+    }
+}
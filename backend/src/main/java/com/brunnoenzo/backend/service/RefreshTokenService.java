@@ -0,0 +1,124 @@
+package com.brunnoenzo.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.brunnoenzo.backend.model.RefreshToken;
+import com.brunnoenzo.backend.model.TweetUser;
+import com.brunnoenzo.backend.repository.RefreshTokenRepository;
+import com.brunnoenzo.backend.repository.TweetUserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+
+/**
+ * (Serviço responsável pelos refresh tokens: emissão, rotação e revogação.)
+ * Os tokens são valores aleatórios de 256 bits; como não há o que adivinhar, basta um
+ * SHA-256 para guardá-los (busca direta pelo índice único), sem o custo do BCrypt.
+ */
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TweetUserRepository userRepository;
+
+    @Value("${application.security.refresh-token.expiration:2592000000}")
+    private long refreshExpiration;
+
+    /**
+     * (Resultado de uma rotação: o dono do token e o novo refresh token.)
+     */
+    public record Rotation(TweetUser user, String refreshToken) {}
+
+    /**
+     * (Emite um novo refresh token para o usuário e retorna o valor que vai para o cliente.)
+     */
+    @Transactional
+    public String issue(Long userId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setUser(userRepository.getReferenceById(userId));
+        refreshToken.setExpiresAt(Instant.now().plusMillis(refreshExpiration));
+        refreshTokenRepository.save(refreshToken);
+        return rawToken;
+    }
+
+    /**
+     * Consumes a refresh token and issues its replacement.
+     * (Consome um refresh token e emite o substituto.)
+     * Reusing an already rotated token revokes every session of the user.
+     * @param rawToken Refresh token sent by the client.
+     * @return Owner of the token and the new refresh token.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        Instant now = Instant.now();
+        RefreshToken current = refreshTokenRepository.findWithUserByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        if (refreshTokenRepository.revoke(current.getId(), now) == 0) {
+            // Token já usado: possível roubo, então encerra todas as sessões do usuário
+            refreshTokenRepository.revokeAllForUser(current.getUser().getUserid(), now);
+            throw new BadCredentialsException("Refresh token already used");
+        }
+
+        TweetUser user = current.getUser();
+        return new Rotation(user, issue(user.getUserid()));
+    }
+
+    /**
+     * (Revoga um refresh token (logout); ignora tokens desconhecidos.)
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findWithUserByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revoke(token.getId(), Instant.now()));
+    }
+
+    /**
+     * (Remove todos os refresh tokens do usuário, usado ao excluir a conta.)
+     */
+    @Transactional
+    public void deleteAllForUser(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * (Tarefa periódica que remove os refresh tokens expirados.)
+     */
+    @Scheduled(cron = "${application.security.refresh-token.cleanup-cron:0 30 4 * * *}")
+    @Transactional
+    public void deleteExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.brunnoenzo.backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import com.brunnoenzo.backend.dto.ResourceVersion;
+import com.brunnoenzo.backend.dto.Versioned;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Service
+
+/**
+ * (Cache de respostas já serializadas para as leituras anônimas mais frequentes.)
+ * Guarda o JSON em bytes e a versão gzip pronta; um acerto só copia bytes para a resposta,
+ * sem consultar o banco nem criar entidades/DTOs. As escritas invalidam a chave após o commit.
+ * Junto do corpo ficam ETag e Last-Modified, para responder GETs condicionais com 304.
+ */
+public class ResponseCache {
+
+    public static final String TWEET = "tweet";
+    public static final String USER = "user";
+
+    // Abaixo disso o gzip não compensa (cabeçalho + CPU maiores que a economia)
+    private static final int MIN_GZIP_SIZE = 256;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, CachedResponse> cache;
+
+    private record Key(String resource, Long id) {}
+
+    /**
+     * (Corpo serializado, sua versão gzip quando vale a pena e os validadores HTTP.)
+     */
+    public record CachedResponse(byte[] json, byte[] gzip, ResourceVersion version) {
+
+        /**
+         * (Monta a resposta escolhendo a variante conforme o Accept-Encoding do cliente.)
+         * O ETag já foi gravado por checkNotModified, com o valor de versionFor.
+         */
+        public ResponseEntity<byte[]> toResponseEntity(String acceptEncoding) {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (servesGzip(acceptEncoding)) {
+                return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+            }
+            return builder.body(json);
+        }
+
+        /**
+         * (Validadores da variante que será enviada: a gzip tem ETag próprio.)
+         */
+        public ResourceVersion versionFor(String acceptEncoding) {
+            return servesGzip(acceptEncoding) ? version.forGzip() : version;
+        }
+
+        private boolean servesGzip(String acceptEncoding) {
+            return gzip != null && acceptsGzip(acceptEncoding);
+        }
+
+        private static boolean acceptsGzip(String acceptEncoding) {
+            return acceptEncoding != null
+                    && acceptEncoding.contains("gzip")
+                    && !acceptEncoding.replace(" ", "").contains("gzip;q=0");
+        }
+    }
+
+    public ResponseCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${application.response-cache.max-size:10000}") long maxSize,
+            @Value("${application.response-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "responseCache");
+    }
+
+    /**
+     * Answers a conditional GET for a cached resource.
+     * (Responde um GET condicional: 304 sem corpo quando o cliente já tem a versão atual.)
+     * Num acerto, If-None-Match/If-Modified-Since são avaliados contra os validadores guardados;
+     * numa falta, a versão é lida por projeção antes de carregar e serializar o corpo, e o 304
+     * sai sem carregá-lo quando o If-None-Match traz essa versão (em qualquer codificação).
+     * @param resource Resource type (TWEET, USER).
+     * @param id Resource id.
+     * @param request Current request; receives ETag/Last-Modified and the 304 status.
+     * @param acceptEncoding Value of Accept-Encoding.
+     * @param versionLoader Reads only the validators; exceptions (e.g. not found) propagate.
+     * @param loader Loads the DTO and its validators; exceptions propagate and nothing is cached.
+     * @return 200 with the JSON (or gzip) body, or 304 Not Modified.
+     */
+    public ResponseEntity<byte[]> respond(String resource, Long id, WebRequest request, String acceptEncoding,
+                                          Supplier<ResourceVersion> versionLoader,
+                                          Supplier<? extends Versioned<?>> loader) {
+        Key key = new Key(resource, id);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached == null) {
+            // Ainda não se sabe se haverá variante gzip, então só responde aqui se o cliente já
+            // tem a versão; senão checkNotModified gravaria o ETag de uma variante talvez errada
+            ResourceVersion version = versionLoader.get();
+            String known = knownVariant(request, version);
+            if (known != null && request.checkNotModified(known, version.lastModifiedMillis())) {
+                return notModified();
+            }
+            cached = cache.get(key, k -> serialize(loader.get()));
+        }
+        if (isNotModified(request, cached.version(), cached.versionFor(acceptEncoding))) {
+            return notModified();
+        }
+        return cached.toResponseEntity(acceptEncoding);
+    }
+
+    private static boolean isNotModified(WebRequest request, ResourceVersion version, ResourceVersion variant) {
+        // Um cache pode revalidar com o ETag da outra codificação: é a mesma versão, então vale o 304
+        String known = knownVariant(request, version);
+        // checkNotModified também grava ETag e Last-Modified na resposta, seja 200 ou 304
+        return request.checkNotModified(known != null ? known : variant.etag(), version.lastModifiedMillis());
+    }
+
+    // ETag do If-None-Match que corresponde a esta versão (identity ou gzip), ou null
+    private static String knownVariant(WebRequest request, ResourceVersion version) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            // If-None-Match usa comparação fraca: W/"x" vale como "x"
+            String tag = candidate.trim();
+            tag = tag.startsWith("W/") ? tag.substring(2) : tag;
+            if (version.isSameVersion(tag)) {
+                return tag;
+            }
+        }
+        return null;
+    }
+
+    private static ResponseEntity<byte[]> notModified() {
+        // O status e os validadores já foram definidos por checkNotModified
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    /**
+     * (Invalida a resposta de um recurso depois que a transação atual confirmar.)
+     * Uma carga concorrente que leu o valor antigo antes do commit é descartada pela invalidação,
+     * porque o Caffeine espera a carga em andamento da mesma chave terminar antes de removê-la.
+     */
+    public void invalidate(String resource, Long id) {
+        Key key = new Key(resource, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(key);
+                }
+            });
+        } else {
+            cache.invalidate(key);
+        }
+    }
+
+    private CachedResponse serialize(Versioned<?> versioned) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(versioned.body());
+            return new CachedResponse(json, json.length >= MIN_GZIP_SIZE ? gzip(json) : null, versioned.version());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize cached response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compressed = out.toByteArray();
+        return compressed.length < data.length ? compressed : null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.brunnoenzo.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * (Quebra texto em termos de busca normalizados.)
+ * Remove acentos (NFD sem marcas combinantes), passa para minúsculas e separa em letras/dígitos,
+ * de modo que "Ação", "acao" e "AÇÃO" virem o mesmo termo. Descarta palavras vazias do português.
+ */
+public final class SearchTokenizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_LENGTH = 2;
+    private static final int MAX_LENGTH = 40;
+
+    // Já sem acento, porque são comparadas depois da normalização
+    private static final Set<String> STOPWORDS = Set.of(
+            "as", "os", "da", "do", "das", "dos", "de", "em", "um", "uma", "uns", "umas",
+            "no", "na", "nos", "nas", "ao", "aos", "se", "que", "com", "por", "para", "pra",
+            "mas", "ou", "eu", "ele", "ela", "me", "te", "isso", "esse", "essa", "este", "esta"
+    );
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * (Remove acentos e passa para minúsculas, sem separar em termos.)
+     */
+    public static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits text into normalized search terms, keeping repeats (term frequency matters for ranking).
+     * (Separa o texto em termos normalizados, mantendo repetições.)
+     * @param text Raw text; null yields no terms.
+     * @return Terms in order of appearance.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (token.length() < MIN_LENGTH || STOPWORDS.contains(token)) {
+                continue;
+            }
+            terms.add(token.length() > MAX_LENGTH ? token.substring(0, MAX_LENGTH) : token);
+        }
+        return terms;
+    }
+}
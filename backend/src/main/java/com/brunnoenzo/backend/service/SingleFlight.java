@@ -0,0 +1,93 @@
+package com.brunnoenzo.backend.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * (Agrupa chamadas concorrentes para a mesma chave em uma única execução.)
+ * A primeira chamada executa a carga; as que chegam enquanto ela está em andamento esperam e
+ * recebem o mesmo resultado (ou a mesma exceção). Nada fica guardado depois que a carga termina.
+ * O número de chaves em andamento é limitado: acima do limite a chamada executa sozinha.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private final Counter leaders;
+    private final Counter shared;
+    private final Counter bypassed;
+
+    public SingleFlight(String name, int maxKeys, MeterRegistry meterRegistry) {
+        this.maxKeys = maxKeys;
+        this.leaders = counter(meterRegistry, name, "leader");
+        this.shared = counter(meterRegistry, name, "shared");
+        this.bypassed = counter(meterRegistry, name, "bypassed");
+        Gauge.builder("singleflight.in_flight", inFlight, ConcurrentHashMap::size)
+                .tag("name", name)
+                .description("Keys with a load in progress")
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the loader once per key among concurrent callers.
+     * (Executa a carga uma vez por chave entre chamadores concorrentes.)
+     * O resultado é compartilhado entre as threads, então deve ser imutável.
+     * @param key Key identifying identical calls.
+     * @param loader Loads the value; runs on the calling (leader) thread.
+     * @return Value loaded by this call or by the call already in flight.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        if (inFlight.size() >= maxKeys) {
+            // Limite atingido: não rastreia a chave, para o mapa não crescer sem controle
+            bypassed.increment();
+            return loader.get();
+        }
+
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            shared.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // Repassa a exceção original do líder (ex.: EntityNotFoundException vira 404 igual)
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
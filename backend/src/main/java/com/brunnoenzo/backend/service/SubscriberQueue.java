@@ -0,0 +1,50 @@
+package com.brunnoenzo.backend.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.brunnoenzo.backend.service.TweetEventBroadcaster.SlowConsumerPolicy;
+import com.brunnoenzo.backend.service.TweetEventHistory.Event;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * (Fila limitada de um assinante do stream, com a política para quando ela enche.)
+ * offer nunca bloqueia quem publica: com DROP_OLDEST descarta os eventos mais antigos, com
+ * DISCONNECT recusa o evento e avisa que o assinante deve ser desconectado.
+ */
+final class SubscriberQueue {
+
+    private final BlockingQueue<Event> queue;
+    private final SlowConsumerPolicy policy;
+    private final Counter droppedEvents;
+
+    SubscriberQueue(int capacity, SlowConsumerPolicy policy, Counter droppedEvents) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.policy = policy;
+        this.droppedEvents = droppedEvents;
+    }
+
+    /**
+     * (Enfileira o evento; retorna false se a fila está cheia e a política é DISCONNECT.)
+     */
+    boolean offer(Event event) {
+        if (queue.offer(event)) {
+            return true;
+        }
+        if (policy == SlowConsumerPolicy.DISCONNECT) {
+            return false;
+        }
+        do {
+            queue.poll();
+            droppedEvents.increment();
+        } while (!queue.offer(event));
+        return true;
+    }
+
+    // null quando o tempo esgota sem eventos (hora do heartbeat)
+    Event poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+}
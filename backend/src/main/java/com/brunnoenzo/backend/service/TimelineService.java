@@ -0,0 +1,221 @@
+package com.brunnoenzo.backend.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.brunnoenzo.backend.dto.CursorPageDTO;
+import com.brunnoenzo.backend.dto.TweetResponseDTO;
+import com.brunnoenzo.backend.repository.HomeTimelineRepository;
+import com.brunnoenzo.backend.repository.TweetRepository;
+import com.brunnoenzo.backend.security.AuthenticatedUser;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+
+/**
+ * (Serviço responsável pelas timelines personalizadas (home) dos usuários.)
+ * Contas comuns usam fan-out na escrita; contas acima do limite de seguidores
+ * ("celebridades") usam fan-out na leitura. As timelines são limitadas a max-size entradas:
+ * o backfill poda na hora a timeline do seguidor, e o fan-out só anota o autor para a tarefa
+ * periódica podar as timelines que ele alimentou. Essa anotação vive só em memória, então na
+ * subida as timelines acima do limite são procuradas e podadas direto no banco.
+ */
+public class TimelineService {
+
+    // Mesma ordem das consultas: id Snowflake decrescente (mais recente primeiro)
+    private static final Comparator<TweetResponseDTO> NEWEST_FIRST =
+            Comparator.comparing(TweetResponseDTO::id, Comparator.reverseOrder());
+    private static final int STARTUP_TRIM_CHUNK_SIZE = 500;
+
+    private final HomeTimelineRepository timelineRepository;
+    private final TweetRepository tweetRepository;
+    private final LikeService likeService;
+    private final PlatformTransactionManager transactionManager;
+
+    // Autores com fan-out desde a última poda
+    private final Set<Long> authorsToTrim = ConcurrentHashMap.newKeySet();
+
+    @Value("${application.timeline.home.max-size:800}")
+    private int maxTimelineSize;
+
+    @Value("${application.timeline.home.celebrity-threshold:10000}")
+    private long celebrityThreshold;
+
+    @Value("${application.pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${application.pagination.max-size:100}")
+    private int maxPageSize;
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    /**
+     * (Entrega um tweet recém-criado às timelines do autor e de seus seguidores.)
+     * Deve ser chamado dentro da transação que salvou o tweet.
+     */
+    @Transactional
+    public void fanOut(Long tweetId, Long authorId, Instant postTime) {
+        timelineRepository.fanOut(tweetId, authorId, postTime, celebrityThreshold);
+        authorsToTrim.add(authorId);
+    }
+
+    /**
+     * (Entrega vários tweets do mesmo autor de uma vez, usado na criação em lote.)
+     */
+    @Transactional
+    public void fanOutAll(Collection<Long> tweetIds, Long authorId) {
+        if (!tweetIds.isEmpty()) {
+            timelineRepository.fanOutAll(tweetIds, authorId, celebrityThreshold);
+            authorsToTrim.add(authorId);
+        }
+    }
+
+    /**
+     * (Preenche a timeline do seguidor com os tweets recentes da conta seguida.)
+     */
+    @Transactional
+    public void onFollow(Long userId, Long followedId) {
+        if (timelineRepository.backfill(userId, followedId, maxTimelineSize) > 0) {
+            timelineRepository.trimUsers(List.of(userId), maxTimelineSize);
+        }
+    }
+
+    /**
+     * (Preenche a timeline do seguidor com os tweets recentes de várias contas seguidas de uma vez.)
+     */
+    @Transactional
+    public void onBulkFollow(Long userId, Collection<Long> followedIds) {
+        if (!followedIds.isEmpty()) {
+            if (timelineRepository.backfillFromAuthors(userId, followedIds, maxTimelineSize) > 0) {
+                timelineRepository.trimUsers(List.of(userId), maxTimelineSize);
+            }
+        }
+    }
+
+    /**
+     * (Remove da timeline do usuário os tweets da conta que deixou de seguir.)
+     */
+    @Transactional
+    public void onUnfollow(Long userId, Long unfollowedId) {
+        timelineRepository.deleteByUserIdAndAuthorId(userId, unfollowedId);
+    }
+
+    @Transactional
+    public void onTweetDeleted(Long tweetId) {
+        timelineRepository.deleteByTweetId(tweetId);
+    }
+
+    @Transactional
+    public void onUserDeleted(Long userId) {
+        timelineRepository.deleteByUserIdOrAuthorId(userId);
+    }
+
+    /**
+     * Returns one page of the authenticated user's home timeline, newest first.
+     * (Retorna uma página da timeline do usuário autenticado, do mais recente ao mais antigo.)
+     * @param before Opaque cursor returned by the previous page, or null for the first page.
+     * @param limit Requested page size.
+     * @return Page of tweets and the cursor for the next page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TweetResponseDTO> getHomeTimeline(String before, Integer limit) {
+        Long userId = AuthenticatedUser.current().id();
+        int pageSize = resolvePageSize(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        PageCursor cursor = (before == null || before.isBlank()) ? null : PageCursor.decode(before);
+
+        // 1. Tweets já entregues na timeline pré-computada
+        List<Long> tweetIds = cursor == null
+                ? timelineRepository.findTweetIds(userId, pageable)
+                : timelineRepository.findTweetIdsBefore(userId, cursor.id(), pageable);
+
+        // 2. Tweets das celebridades seguidas, buscados na leitura (no máximo uma página por autor)
+        Set<Long> ids = new LinkedHashSet<>(tweetIds);
+        List<Long> celebrityIds = timelineRepository.findFollowedCelebrityIds(userId, celebrityThreshold);
+        if (!celebrityIds.isEmpty()) {
+            ids.addAll(cursor == null
+                    ? tweetRepository.findLatestIdsByAuthors(celebrityIds, pageSize + 1)
+                    : tweetRepository.findLatestIdsByAuthorsBefore(celebrityIds, cursor.id(), pageSize + 1));
+        }
+
+        List<TweetResponseDTO> page = ids.isEmpty() ? new ArrayList<>() : new ArrayList<>(tweetRepository.findDtosByIdIn(ids));
+        page.sort(NEWEST_FIRST);
+
+        String nextCursor = null;
+        if (page.size() > pageSize) {
+            page = page.subList(0, pageSize);
+            TweetResponseDTO last = page.get(pageSize - 1);
+            nextCursor = new PageCursor(last.id()).encode();
+        }
+        return new CursorPageDTO<>(likeService.withLikeCounts(page), nextCursor);
+    }
+
+    /**
+     * (Poda na subida as timelines que ficaram acima do limite antes do último restart.)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void trimOnStartup() {
+        Thread.ofVirtual().name("timeline-trim-startup").start(this::trimOversizedTimelines);
+    }
+
+    private void trimOversizedTimelines() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            List<Long> userIds = timelineRepository.findUserIdsWithMoreThan(maxTimelineSize);
+            for (int from = 0; from < userIds.size(); from += STARTUP_TRIM_CHUNK_SIZE) {
+                List<Long> chunk = userIds.subList(from, Math.min(from + STARTUP_TRIM_CHUNK_SIZE, userIds.size()));
+                transactionTemplate.executeWithoutResult(status -> timelineRepository.trimUsers(chunk, maxTimelineSize));
+            }
+            log.info("Trimmed {} oversized home timelines on startup", userIds.size());
+        } catch (RuntimeException e) {
+            // As que ficarem acima do limite são podadas no próximo fan-out de quem as alimenta
+            log.warn("Startup timeline trim failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * (Tarefa periódica que poda as timelines alimentadas por fan-out desde a última execução.)
+     * Cada autor é podado em uma transação própria, para não segurar locks de todas as timelines
+     * de uma vez; se falhar, o autor volta para a próxima execução.
+     */
+    @Scheduled(fixedDelayString = "${application.timeline.home.trim-interval-ms:300000}")
+    public void trimTimelines() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (Long authorId : List.copyOf(authorsToTrim)) {
+            authorsToTrim.remove(authorId);
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        timelineRepository.trimFanOutOf(authorId, maxTimelineSize, celebrityThreshold));
+            } catch (RuntimeException e) {
+                log.warn("Timeline trim failed for author {}, retrying on the next run: {}", authorId, e.getMessage());
+                authorsToTrim.add(authorId);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.brunnoenzo.backend.service;
 
 import com.brunnoenzo.backend.model.Role;
 import com.brunnoenzo.backend.model.TweetUser;
+import com.brunnoenzo.backend.security.JwtSigningKeys;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
@@ -22,9 +23,19 @@ public class TokenService {
     @Autowired
     private JwtEncoder jwtEncoder;
 
+    @Autowired
+    private JwtSigningKeys signingKeys;
+
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
+    /**
+     * (Validade do access token, em segundos.)
+     */
+    public long getExpirationSeconds() {
+        return jwtExpiration / 1000;
+    }
+
     /**
      * (Gera um novo token JWT para o usuário.)
      */
@@ -42,8 +53,9 @@ public class TokenService {
                 .subject(userDetails.getUserid().toString())
                 .claim("scope", scopes) // Usado para autorização
                 .claim("screenName", userDetails.getScreenName())
+                .claim("role", userDetails.getRole().name()) // Lido por AuthenticatedUser
                 .build();
 
-        return this.jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        return this.jwtEncoder.encode(JwtEncoderParameters.from(signingKeys.jwsHeader(), claims)).getTokenValue();
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.brunnoenzo.backend.service;
+
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.brunnoenzo.backend.dto.TrendsDTO;
+
+@Service
+
+/**
+ * (Serviço dos assuntos do momento, alimentado pelas hashtags e menções dos tweets novos.)
+ * Tudo fica em memória de tamanho fixo (TrendTracker); a consulta dos trends nunca lê a tabela de tweets.
+ */
+public class TrendService {
+
+    private final TrendTracker hashtags;
+    private final TrendTracker mentions;
+    private final long windowMinutes;
+    private final int maxLimit;
+
+    public TrendService(
+            @Value("${application.trends.window-minutes:60}") long windowMinutes,
+            @Value("${application.trends.bucket-minutes:5}") long bucketMinutes,
+            @Value("${application.trends.sketch-depth:4}") int sketchDepth,
+            @Value("${application.trends.sketch-width:4096}") int sketchWidth,
+            @Value("${application.trends.max-candidates:200}") int maxCandidates) {
+        long bucketMillis = bucketMinutes * 60_000;
+        int bucketCount = (int) Math.max(1, windowMinutes / bucketMinutes);
+        this.hashtags = new TrendTracker(bucketMillis, bucketCount, sketchDepth, sketchWidth, maxCandidates);
+        this.mentions = new TrendTracker(bucketMillis, bucketCount, sketchDepth, sketchWidth, maxCandidates);
+        this.windowMinutes = bucketCount * bucketMinutes;
+        this.maxLimit = maxCandidates;
+    }
+
+    /**
+     * (Extrai hashtags e menções dos tweets e as contabiliza depois que a transação confirmar.)
+     * @param contents Text of the tweets just created.
+     */
+    public void recordAfterCommit(Collection<String> contents) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(contents);
+                }
+            });
+        } else {
+            record(contents);
+        }
+    }
+
+    private void record(Collection<String> contents) {
+        long now = System.currentTimeMillis();
+        for (String content : contents) {
+            TweetTextEntities entities = TweetTextEntities.extract(content);
+            entities.hashtags().forEach(tag -> hashtags.add(tag, now));
+            entities.mentions().forEach(screenName -> mentions.add(screenName, now));
+        }
+    }
+
+    /**
+     * Returns the most used hashtags and mentions of the sliding window.
+     * (Retorna as hashtags e menções mais usadas na janela deslizante.)
+     * @param limit Maximum number of entries in each list.
+     * @return Trending hashtags and mentions with estimated counts.
+     */
+    public TrendsDTO getTrends(Integer limit) {
+        int size = limit == null ? 10 : Math.max(1, Math.min(limit, maxLimit));
+        long now = System.currentTimeMillis();
+        return new TrendsDTO(hashtags.top(size, now), mentions.top(size, now), windowMinutes);
+    }
+}
@@ -0,0 +1,134 @@
+package com.brunnoenzo.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import com.brunnoenzo.backend.dto.TrendDTO;
+
+/**
+ * (Contagem de termos em alta numa janela deslizante, com memória fixa.)
+ * A janela é um anel de baldes de tempo, cada um com seu count-min sketch; um sketch extra guarda
+ * a soma da janela e, ao girar o anel, o balde que expira é subtraído dele. Só um número limitado
+ * de candidatos é guardado por nome, então a memória não cresce com a quantidade de termos distintos.
+ */
+public class TrendTracker {
+
+    private final long bucketMillis;
+    private final CountMinSketch[] buckets;
+    private final CountMinSketch window;
+    private final int maxCandidates;
+    private final Map<String, Long> candidates = new HashMap<>();
+    private long currentBucket;
+
+    // Menor candidato atual, recalculado sob demanda; um termo novo só entra se superar esse valor
+    private String minCandidate;
+    private long minCount = -1;
+
+    public TrendTracker(long bucketMillis, int bucketCount, int sketchDepth, int sketchWidth, int maxCandidates) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = new CountMinSketch[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new CountMinSketch(sketchDepth, sketchWidth);
+        }
+        this.window = new CountMinSketch(sketchDepth, sketchWidth);
+        this.maxCandidates = maxCandidates;
+        this.currentBucket = System.currentTimeMillis() / bucketMillis;
+    }
+
+    /**
+     * (Conta uma ocorrência do termo no balde atual.)
+     */
+    public synchronized void add(String term, long nowMillis) {
+        advance(nowMillis);
+        buckets[slot(currentBucket)].add(term, 1);
+        window.add(term, 1);
+        long estimate = window.estimate(term);
+
+        if (candidates.containsKey(term) || candidates.size() < maxCandidates) {
+            candidates.put(term, estimate);
+            if (term.equals(minCandidate) || estimate < minCount) {
+                minCount = -1;
+            }
+            return;
+        }
+        if (minCount < 0) {
+            findMinCandidate();
+        }
+        if (estimate > minCount) {
+            candidates.remove(minCandidate);
+            candidates.put(term, estimate);
+            minCount = -1;
+        }
+    }
+
+    /**
+     * Returns the most frequent terms of the window, highest count first.
+     * (Retorna os termos mais frequentes da janela; as contagens são estimativas por cima.)
+     * @param limit Maximum number of terms.
+     * @param nowMillis Current time, used to expire old buckets.
+     * @return Terms and estimated counts.
+     */
+    public synchronized List<TrendDTO> top(int limit, long nowMillis) {
+        advance(nowMillis);
+        Comparator<TrendDTO> byCount = Comparator.comparingLong(TrendDTO::count)
+                .thenComparing(TrendDTO::tag, Comparator.reverseOrder());
+        PriorityQueue<TrendDTO> heap = new PriorityQueue<>(limit + 1, byCount);
+        for (Map.Entry<String, Long> candidate : candidates.entrySet()) {
+            heap.add(new TrendDTO(candidate.getKey(), candidate.getValue()));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<TrendDTO> top = new ArrayList<>(heap);
+        top.sort(byCount.reversed());
+        return top;
+    }
+
+    // Gira o anel até o balde de nowMillis, descontando da janela os baldes que expiraram
+    private void advance(long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        if (bucket <= currentBucket) {
+            return;
+        }
+        long steps = Math.min(bucket - currentBucket, buckets.length);
+        for (long i = 1; i <= steps; i++) {
+            CountMinSketch expired = buckets[slot(currentBucket + i)];
+            window.subtract(expired);
+            expired.clear();
+        }
+        currentBucket = bucket;
+
+        // Atualiza as contagens dos candidatos e descarta os que saíram da janela
+        Iterator<Map.Entry<String, Long>> iterator = candidates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> candidate = iterator.next();
+            long estimate = window.estimate(candidate.getKey());
+            if (estimate <= 0) {
+                iterator.remove();
+            } else {
+                candidate.setValue(estimate);
+            }
+        }
+        minCount = -1;
+    }
+
+    private void findMinCandidate() {
+        minCandidate = null;
+        minCount = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> candidate : candidates.entrySet()) {
+            if (candidate.getValue() < minCount) {
+                minCandidate = candidate.getKey();
+                minCount = candidate.getValue();
+            }
+        }
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.length);
+    }
+}
@@ -0,0 +1,199 @@
+package com.brunnoenzo.backend.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.brunnoenzo.backend.dto.TweetEventDTO;
+import com.brunnoenzo.backend.service.TweetEventHistory.Event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+
+/**
+ * (Difusor único dos eventos de tweets para as conexões SSE.)
+ * Cada escrita publica um evento uma vez; cada assinante tem uma fila limitada e uma virtual
+ * thread que a esvazia para o SseEmitter, então uma conexão lenta nunca atrasa as outras nem
+ * quem publica. Conexões ociosas ficam estacionadas na fila e só acordam para o heartbeat.
+ * Os últimos eventos ficam num buffer circular (TweetEventHistory) para retomar a partir do
+ * Last-Event-ID.
+ */
+public class TweetEventBroadcaster {
+
+    /**
+     * (O que fazer quando a fila de um assinante lento enche.)
+     */
+    public enum SlowConsumerPolicy {
+        // Descarta o evento mais antigo da fila e segue
+        DROP_OLDEST,
+        // Encerra a conexão; o cliente reconecta com Last-Event-ID e retoma pelo buffer circular
+        DISCONNECT
+    }
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final TweetEventHistory history;
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMillis;
+    private final Duration heartbeatInterval;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final Counter droppedEvents;
+    private final Counter slowDisconnects;
+
+    public TweetEventBroadcaster(
+            MeterRegistry meterRegistry,
+            @Value("${application.tweets.stream.history-size:256}") int historySize,
+            @Value("${application.tweets.stream.buffer-size:64}") int bufferSize,
+            @Value("${application.tweets.stream.max-subscribers:10000}") int maxSubscribers,
+            @Value("${application.tweets.stream.timeout-ms:1800000}") long emitterTimeoutMillis,
+            @Value("${application.tweets.stream.heartbeat-seconds:20}") long heartbeatSeconds,
+            @Value("${application.tweets.stream.slow-consumer-policy:DISCONNECT}") SlowConsumerPolicy slowConsumerPolicy) {
+        this.history = new TweetEventHistory(historySize, System.currentTimeMillis());
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.heartbeatInterval = Duration.ofSeconds(heartbeatSeconds);
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.droppedEvents = Counter.builder("tweets.stream.dropped").register(meterRegistry);
+        this.slowDisconnects = Counter.builder("tweets.stream.slow_disconnects").register(meterRegistry);
+        Gauge.builder("tweets.stream.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    /**
+     * (Publica o evento para todos os assinantes depois que a transação atual confirmar.)
+     */
+    public void publishAfterCommit(TweetEventDTO payload) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(payload);
+                }
+            });
+        } else {
+            publish(payload);
+        }
+    }
+
+    // Numera, guarda e entrega sob o mesmo lock: os assinantes recebem os eventos em ordem,
+    // e quem assina no meio não vê nem repetição nem buraco entre o replay e o ao vivo
+    private void publish(TweetEventDTO payload) {
+        synchronized (history) {
+            Event event = history.append(payload);
+            // offer nunca bloqueia: um assinante lento só perde eventos ou é desconectado
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    /**
+     * Opens a new SSE subscription, replaying what the client missed when possible.
+     * (Abre uma assinatura SSE; com Last-Event-ID, reenvia os eventos perdidos que ainda estão no buffer.)
+     * Se o id já saiu do buffer circular ou é de antes de um restart, envia um evento "reset" para o cliente recarregar a lista.
+     * @param lastEventId Value of the Last-Event-ID header, or null for a fresh subscription.
+     * @return Emitter bound to the current async request.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RejectedExecutionException("Too many stream subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber;
+        synchronized (history) {
+            List<Event> missed = history.replay(lastEventId);
+            // A fila comporta o replay inteiro mais o buffer normal, para o replay não contar como lentidão
+            subscriber = new Subscriber(emitter, bufferSize + missed.size());
+            missed.forEach(subscriber::offer);
+            subscribers.add(subscriber);
+        }
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.start();
+        return emitter;
+    }
+
+    /**
+     * (Um cliente conectado: fila limitada esvaziada por uma virtual thread própria.)
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final SubscriberQueue queue;
+        private volatile Thread writer;
+        private volatile boolean closed;
+        private volatile boolean overflowed;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new SubscriberQueue(capacity, slowConsumerPolicy, droppedEvents);
+        }
+
+        void start() {
+            writer = Thread.ofVirtual().name("tweet-stream").start(this::run);
+        }
+
+        void offer(Event event) {
+            if (closed || queue.offer(event)) {
+                return;
+            }
+            // Quem encerra o emitter é a própria thread do assinante, fora do lock de publicação
+            slowDisconnects.increment();
+            overflowed = true;
+            close();
+        }
+
+        private void run() {
+            try {
+                while (!closed) {
+                    Event event = queue.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        // Comentário SSE: mantém proxies e balanceadores com a conexão aberta
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(history.idOf(event))
+                                .name(event.payload().type())
+                                .data(event.payload(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Interrompida por close(): conexão encerrada ou assinante lento
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectou ou o emitter já foi encerrado
+                log.debug("Tweet stream subscriber closed: {}", e.getMessage());
+            } finally {
+                close();
+                if (overflowed) {
+                    emitter.complete();
+                }
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            Thread thread = writer;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+    }
+}
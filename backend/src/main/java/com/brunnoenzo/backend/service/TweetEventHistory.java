@@ -0,0 +1,78 @@
+package com.brunnoenzo.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.brunnoenzo.backend.dto.TweetEventDTO;
+
+/**
+ * (Numeração e buffer circular dos eventos do stream de tweets.)
+ * Os ids têm a forma "<época>-<sequência>", com a época sendo o instante da subida: a sequência
+ * recomeça a cada restart, então um id de outra época nunca é confundido com um id atual.
+ * Não é thread-safe: o acesso é protegido pelo TweetEventBroadcaster.
+ */
+final class TweetEventHistory {
+
+    record Event(long sequence, TweetEventDTO payload) {}
+
+    private final Event[] events;
+    private final long epoch;
+    private long lastSequence;
+
+    TweetEventHistory(int size, long epoch) {
+        this.events = new Event[size];
+        this.epoch = epoch;
+    }
+
+    /**
+     * (Numera o evento e o guarda no buffer, sobrescrevendo o mais antigo.)
+     */
+    Event append(TweetEventDTO payload) {
+        Event event = new Event(++lastSequence, payload);
+        events[(int) (event.sequence() % events.length)] = event;
+        return event;
+    }
+
+    /**
+     * (Eventos posteriores ao Last-Event-ID, ou um único evento "reset" se eles não estão mais disponíveis.)
+     * O reset vale para ids de outra época (restart do servidor), malformados, posteriores ao
+     * último emitido ou que já saíram do buffer.
+     */
+    List<Event> replay(String lastEventId) {
+        List<Event> missed = new ArrayList<>();
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return missed;
+        }
+        long since = sequenceOf(lastEventId.trim());
+        long oldest = Math.max(1, lastSequence - events.length + 1);
+        if (since < 0 || since > lastSequence || since + 1 < oldest) {
+            missed.add(new Event(lastSequence, new TweetEventDTO(TweetEventDTO.RESET, null, null)));
+            return missed;
+        }
+        for (long sequence = since + 1; sequence <= lastSequence; sequence++) {
+            missed.add(events[(int) (sequence % events.length)]);
+        }
+        return missed;
+    }
+
+    String idOf(Event event) {
+        return epoch + "-" + event.sequence();
+    }
+
+    // Sequência de um id desta época, ou -1 se o id for de outra época ou estiver malformado
+    private long sequenceOf(String eventId) {
+        int separator = eventId.indexOf('-');
+        if (separator <= 0) {
+            return -1;
+        }
+        try {
+            if (Long.parseLong(eventId.substring(0, separator)) != epoch) {
+                return -1;
+            }
+            long sequence = Long.parseLong(eventId.substring(separator + 1));
+            return sequence >= 0 ? sequence : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
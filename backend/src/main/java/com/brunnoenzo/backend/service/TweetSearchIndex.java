@@ -0,0 +1,441 @@
+package com.brunnoenzo.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.brunnoenzo.backend.dto.TweetResponseDTO;
+import com.brunnoenzo.backend.repository.TweetRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+
+/**
+ * (Índice invertido em memória sobre o conteúdo dos tweets.)
+ * Cada termo aponta para uma PostingList comprimida; um índice direto (tweet -> termos) permite
+ * remover e reindexar um tweet sem varrer todos os termos. É atualizado incrementalmente após o
+ * commit das escritas e reconstruído em paralelo na subida, a partir de uma leitura em streaming.
+ * As listas guardam ordinais internos, dados em ordem crescente a cada (re)indexação, então toda
+ * escrita é um acréscimo no fim. Remover vira tombstone (bit em deleted), que a busca ignora; a
+ * compactação periódica tira as entradas mortas das listas sem segurar o lock de escrita.
+ * A busca exige todos os termos da consulta e ordena por BM25, desempatando pelos tweets mais novos.
+ */
+public class TweetSearchIndex {
+
+    // Parâmetros usuais do BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+    // Uma lista é compactada quando ao menos 1/4 das entradas é de documentos removidos
+    private static final int COMPACTION_RATIO = 4;
+
+    private final TweetRepository tweetRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxResults;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    // Ordinal -> id do tweet; ordinais de documentos removidos ficam marcados em deleted
+    private long[] tweetIds = new long[1024];
+    private int nextOrdinal;
+    private final BitSet deleted = new BitSet();
+    // Termos cujas listas têm tombstones, candidatos à compactação
+    private final Set<String> dirtyTerms = new HashSet<>();
+
+    // Tweets alterados ao vivo durante a reconstrução: a versão lida pelo streaming pode estar velha
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    private record Document(int ordinal, String[] terms, int length) {}
+
+    private record Analyzed(long id, Map<String, Integer> frequencies, int length) {}
+
+    /**
+     * (Ids de uma página de resultados, já ordenados por relevância.)
+     */
+    public record SearchHits(List<Long> ids, boolean hasMore, int totalHits) {}
+
+    public TweetSearchIndex(
+            TweetRepository tweetRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${application.search.max-results:1000}") int maxResults) {
+        this.tweetRepository = tweetRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxResults = maxResults;
+        Gauge.builder("search.index.documents", this, TweetSearchIndex::documentCount)
+                .register(meterRegistry);
+        Gauge.builder("search.index.terms", this, TweetSearchIndex::termCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * (Indexa ou reindexa tweets depois que a transação atual confirmar.)
+     * @param contents Tweet id to its current content.
+     */
+    public void indexAfterCommit(Map<Long, String> contents) {
+        afterCommit(() -> contents.forEach(this::index));
+    }
+
+    /**
+     * (Remove tweets do índice depois que a transação atual confirmar.)
+     */
+    public void removeAfterCommit(List<Long> ids) {
+        afterCommit(() -> ids.forEach(this::remove));
+    }
+
+    public void index(long id, String content) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(id);
+        }
+        Analyzed analyzed = analyze(id, content);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            addLocked(analyzed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(id);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the tweets containing every term of the query, best match first.
+     * (Busca os tweets que contêm todos os termos da consulta, do mais relevante ao menos relevante.)
+     * Só os application.search.max-results melhores resultados são considerados na paginação.
+     * @param query Free text; accents and case are ignored.
+     * @param offset Number of hits to skip.
+     * @param limit Page size.
+     * @return Ids of the requested page and whether more hits follow.
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+        if (terms.isEmpty() || offset >= maxResults) {
+            return new SearchHits(List.of(), false, 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    return new SearchHits(List.of(), false, 0);
+                }
+                lists.add(list);
+            }
+            // Começa pela lista mais curta: a interseção nunca é maior que ela
+            lists.sort(Comparator.comparingInt(PostingList::liveCount));
+
+            double averageLength = documents.isEmpty() ? 1 : (double) totalLength / documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (int i = 0; i < lists.size(); i++) {
+                PostingList list = lists.get(i);
+                double idf = Math.log(1 + (documents.size() - list.liveCount() + 0.5) / (list.liveCount() + 0.5));
+                Map<Long, Double> next = i == 0 ? scores : new HashMap<>();
+                Map<Long, Double> previous = scores;
+                boolean first = i == 0;
+                list.forEach((ordinal, frequency) -> {
+                    if (deleted.get(ordinal)) {
+                        return;
+                    }
+                    long id = tweetIds[ordinal];
+                    Double score = first ? Double.valueOf(0) : previous.get(id);
+                    if (score == null) {
+                        return;
+                    }
+                    Document document = documents.get(id);
+                    double norm = K1 * (1 - B + B * document.length() / averageLength);
+                    next.put(id, score + idf * frequency * (K1 + 1) / (frequency + norm));
+                });
+                scores = next;
+                if (scores.isEmpty()) {
+                    return new SearchHits(List.of(), false, 0);
+                }
+            }
+            return page(scores, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Seleciona os melhores (offset + limit) com um heap, sem ordenar todos os resultados
+    private SearchHits page(Map<Long, Double> scores, int offset, int limit) {
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+        int wanted = Math.min(offset + limit + 1, maxResults);
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(wanted, ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (top.size() < wanted) {
+                top.add(entry);
+            } else if (ranking.compare(entry, top.peek()) > 0) {
+                top.poll();
+                top.add(entry);
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(ranking.reversed());
+
+        int totalHits = Math.min(scores.size(), maxResults);
+        int end = Math.min(offset + limit, Math.min(ranked.size(), maxResults));
+        if (offset >= end) {
+            return new SearchHits(List.of(), false, totalHits);
+        }
+        List<Long> ids = ranked.subList(offset, end).stream().map(Map.Entry::getKey).toList();
+        return new SearchHits(ids, end < totalHits, totalHits);
+    }
+
+    /**
+     * (Reconstrói o índice na subida da aplicação, sem bloquear o início do servidor.)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread.ofVirtual().name("search-index-rebuild").start(this::rebuild);
+    }
+
+    /**
+     * (Lê todos os tweets em streaming e indexa em paralelo, em blocos.)
+     * A tokenização dos blocos roda em um pool do tamanho dos processadores. Como cada documento
+     * recebe um ordinal novo na junção, as escritas ao vivo intercaladas com os blocos também só
+     * acrescentam no fim das listas: a reconstrução custa O(total de entradas).
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        int processors = Runtime.getRuntime().availableProcessors();
+        try (ExecutorService workers = Executors.newFixedThreadPool(processors)) {
+            List<Future<List<Analyzed>>> pending = new ArrayList<>();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TweetResponseDTO> rows = tweetRepository.streamAll()) {
+                    Iterator<TweetResponseDTO> iterator = rows.iterator();
+                    List<TweetResponseDTO> chunk = new ArrayList<>(REBUILD_CHUNK_SIZE);
+                    while (iterator.hasNext()) {
+                        chunk.add(iterator.next());
+                        if (chunk.size() == REBUILD_CHUNK_SIZE) {
+                            pending.add(workers.submit(analyzeChunk(chunk)));
+                            chunk = new ArrayList<>(REBUILD_CHUNK_SIZE);
+                            // Limita os blocos em memória: junta os mais antigos enquanto o banco é lido
+                            while (pending.size() > processors * 2) {
+                                merge(pending.remove(0));
+                            }
+                        }
+                    }
+                    if (!chunk.isEmpty()) {
+                        pending.add(workers.submit(analyzeChunk(chunk)));
+                    }
+                }
+            });
+            for (Future<List<Analyzed>> future : pending) {
+                merge(future);
+            }
+            log.info("Search index rebuilt with {} tweets and {} terms in {} ms",
+                    documentCount(), termCount(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Search index rebuild failed", e);
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+        }
+    }
+
+    private Callable<List<Analyzed>> analyzeChunk(List<TweetResponseDTO> chunk) {
+        return () -> {
+            List<Analyzed> analyzed = new ArrayList<>(chunk.size());
+            for (TweetResponseDTO tweet : chunk) {
+                analyzed.add(analyze(tweet.id(), tweet.content()));
+            }
+            return analyzed;
+        };
+    }
+
+    private void merge(Future<List<Analyzed>> future) {
+        List<Analyzed> chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search index rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search index rebuild failed", e.getCause());
+        }
+        lock.writeLock().lock();
+        try {
+            for (Analyzed analyzed : chunk) {
+                // O que mudou ao vivo já está no índice com o conteúdo atual
+                if (!touchedDuringRebuild.contains(analyzed.id()) && !documents.containsKey(analyzed.id())) {
+                    addLocked(analyzed);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Analyzed analyze(long id, String content) {
+        List<String> terms = SearchTokenizer.tokenize(content);
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return new Analyzed(id, frequencies, terms.size());
+    }
+
+    /**
+     * (Tira das listas as entradas de documentos removidos.)
+     * A cópia sem tombstones é montada fora do lock, a partir de um snapshot do prefixo da lista
+     * (os bytes já escritos nunca mudam); o lock de escrita só é usado para trocar a lista,
+     * trazendo junto o que foi acrescentado nesse meio tempo.
+     */
+    @Scheduled(fixedDelayString = "${application.search.compaction-interval-ms:10000}")
+    public void compact() {
+        Map<String, PostingList> candidates = new HashMap<>();
+        Map<String, PostingList.Snapshot> snapshots = new HashMap<>();
+        BitSet deletedSnapshot;
+        lock.readLock().lock();
+        try {
+            for (String term : dirtyTerms) {
+                PostingList list = postings.get(term);
+                if (list != null && list.deletedCount() * COMPACTION_RATIO >= list.count()) {
+                    candidates.put(term, list);
+                    snapshots.put(term, list.snapshot());
+                }
+            }
+            deletedSnapshot = (BitSet) deleted.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        for (Map.Entry<String, PostingList> candidate : candidates.entrySet()) {
+            String term = candidate.getKey();
+            PostingList.Snapshot snapshot = snapshots.get(term);
+            PostingList compacted = PostingList.compact(snapshot, deletedSnapshot::get);
+            lock.writeLock().lock();
+            try {
+                PostingList list = candidate.getValue();
+                // A lista pode ter sido descartada (ficou vazia) enquanto a cópia era montada
+                if (postings.get(term) == list) {
+                    list.replaceWith(compacted, snapshot, deleted::get);
+                    if (list.deletedCount() == 0) {
+                        dirtyTerms.remove(term);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void addLocked(Analyzed analyzed) {
+        int ordinal = nextOrdinal++;
+        if (ordinal == tweetIds.length) {
+            tweetIds = Arrays.copyOf(tweetIds, tweetIds.length * 2);
+        }
+        tweetIds[ordinal] = analyzed.id();
+        analyzed.frequencies().forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new PostingList()).add(ordinal, frequency));
+        documents.put(analyzed.id(), new Document(
+                ordinal, analyzed.frequencies().keySet().toArray(String[]::new), analyzed.length()));
+        totalLength += analyzed.length();
+    }
+
+    // O documento vira tombstone: as listas só são reescritas na compactação
+    private void removeLocked(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length();
+        deleted.set(document.ordinal());
+        for (String term : document.terms()) {
+            PostingList list = postings.get(term);
+            if (list == null) {
+                continue;
+            }
+            list.markDeleted();
+            if (list.liveCount() == 0) {
+                postings.remove(term);
+                dirtyTerms.remove(term);
+            } else {
+                dirtyTerms.add(term);
+            }
+        }
+    }
+
+    private int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
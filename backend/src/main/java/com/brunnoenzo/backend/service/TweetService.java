@@ -1,20 +1,40 @@
 package com.brunnoenzo.backend.service;
 
+import com.brunnoenzo.backend.dto.CursorPageDTO;
+import com.brunnoenzo.backend.dto.ResourceVersion;
+import com.brunnoenzo.backend.dto.TweetBatchCreateDTO;
+import com.brunnoenzo.backend.dto.TweetBatchResultDTO;
 import com.brunnoenzo.backend.dto.TweetCreateDTO;
+import com.brunnoenzo.backend.dto.TweetEventDTO;
 import com.brunnoenzo.backend.dto.TweetResponseDTO;
+import com.brunnoenzo.backend.dto.TweetSearchResultDTO;
 import com.brunnoenzo.backend.dto.TweetUpdateDTO;
+import com.brunnoenzo.backend.dto.Versioned;
 import com.brunnoenzo.backend.model.Tweet;
 import com.brunnoenzo.backend.model.TweetUser;
 import com.brunnoenzo.backend.repository.TweetRepository;
 import com.brunnoenzo.backend.repository.TweetUserRepository;
+import com.brunnoenzo.backend.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,79 +47,299 @@ public class TweetService {
 
     private final TweetRepository tweetRepository;
     private final TweetUserRepository userRepository;
+    private final TimelineService timelineService;
+    private final ResponseCache responseCache;
+    private final TweetSearchIndex searchIndex;
+    private final TrendService trendService;
+    private final TweetEventBroadcaster eventBroadcaster;
+    private final LikeService likeService;
+    private final EntityManager entityManager;
+    private final Validator validator;
 
-    private TweetUser getAuthenticatedUser() {
-        String userIdStr = SecurityContextHolder.getContext().getAuthentication().getName();
-        Long userId = Long.parseLong(userIdStr);
+    @Value("${application.pagination.default-size:20}")
+    private int defaultPageSize;
 
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("Authenticated user not found"));
-    }
+    @Value("${application.pagination.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${application.tweets.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
 
-    private TweetResponseDTO mapToTweetResponseDTO(Tweet tweet) {
+    /**
+     * (Converte um tweet do próprio usuário autenticado para TweetResponseDTO.)
+     * O autor vem das claims do JWT, sem inicializar o proxy de TweetUser.
+     */
+    private TweetResponseDTO mapToTweetResponseDTO(Tweet tweet, AuthenticatedUser author) {
         return new TweetResponseDTO(
                 tweet.getId(),
                 tweet.getContent(),
                 tweet.getPostTime(),
-                tweet.getTweetUser().getScreenName(),
-                tweet.getTweetUser().getUserid()
+                author.screenName(),
+                author.id()
         );
     }
 
+    /**
+     * (Limita o tamanho de página pedido pelo cliente ao intervalo permitido.)
+     */
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    /**
+     * Returns one page of the public timeline, newest first.
+     * (Retorna uma página da timeline pública, do mais recente para o mais antigo.)
+     * @param before Opaque cursor returned by the previous page, or null for the first page.
+     * @param limit Requested page size (bounded by application.pagination.max-size).
+     * @return Page of tweets and the cursor for the next page.
+     */
     @Transactional(readOnly = true)
-    public List<TweetResponseDTO> getAllTweets() {
-        return tweetRepository.findAll().stream()
-                .map(this::mapToTweetResponseDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<TweetResponseDTO> getAllTweets(String before, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        // Busca um item a mais para saber se existe próxima página
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<TweetResponseDTO> items;
+        if (before == null || before.isBlank()) {
+            items = tweetRepository.findLatest(pageable);
+        } else {
+            PageCursor cursor = PageCursor.decode(before);
+            items = tweetRepository.findLatestBefore(cursor.id(), pageable);
+        }
+
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            TweetResponseDTO last = items.get(pageSize - 1);
+            nextCursor = new PageCursor(last.id()).encode();
+        }
+
+        return new CursorPageDTO<>(likeService.withLikeCounts(items), nextCursor);
     }
 
+    /**
+     * Searches tweets by content using the in-memory index, best match first.
+     * (Busca tweets pelo conteúdo no índice em memória, sem LIKE no banco.)
+     * @param query Free text; accents and case are ignored.
+     * @param after Cursor returned by the previous page, or null for the first page.
+     * @param limit Requested page size.
+     * @return Page of matching tweets in relevance order.
+     */
     @Transactional(readOnly = true)
-    public TweetResponseDTO getTweetById(Long id) {
+    public TweetSearchResultDTO searchTweets(String query, String after, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        int offset = parseOffsetCursor(after);
+        TweetSearchIndex.SearchHits hits = searchIndex.search(query, offset, pageSize);
+        if (hits.ids().isEmpty()) {
+            return new TweetSearchResultDTO(List.of(), null, hits.totalHits());
+        }
+
+        // Uma única consulta por chave primária; a ordem de relevância vem do índice
+        Map<Long, TweetResponseDTO> byId = tweetRepository.findDtosByIdIn(hits.ids()).stream()
+                .collect(Collectors.toMap(TweetResponseDTO::id, Function.identity()));
+        List<TweetResponseDTO> items = hits.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull) // apagado depois da busca no índice
+                .map(likeService::withLikeCount)
+                .toList();
+        String nextCursor = hits.hasMore() ? String.valueOf(offset + pageSize) : null;
+        return new TweetSearchResultDTO(items, nextCursor, hits.totalHits());
+    }
+
+    private int parseOffsetCursor(String after) {
+        if (after == null || after.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(after));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * (Busca um tweet pelo id, junto com seus validadores HTTP.)
+     * Tweet e autor vêm do cache de segundo nível quando presentes.
+     */
+    @Transactional(readOnly = true)
+    public Versioned<TweetResponseDTO> getTweetById(Long id) {
         Tweet tweet = tweetRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Tweet not found"));
-        return mapToTweetResponseDTO(tweet);
+        TweetUser author = tweet.getTweetUser();
+        TweetResponseDTO body = new TweetResponseDTO(
+                tweet.getId(),
+                tweet.getContent(),
+                tweet.getPostTime(),
+                author.getScreenName(),
+                author.getUserid(),
+                likeService.getLikeCount(tweet.getId())
+        );
+        return new Versioned<>(body, versionOf(tweet));
+    }
+
+    /**
+     * (Validadores HTTP de um tweet, lidos por projeção sem carregar a entidade; usado no 304.)
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getTweetVersion(Long id) {
+        return tweetRepository.findVersionById(id)
+                .map(version -> version.withSuffix(likeService.getLikeCount(id)))
+                .orElseThrow(() -> new EntityNotFoundException("Tweet not found"));
+    }
+
+    // As curtidas mudam fora da @Version (contadores em memória), então entram no ETag à parte
+    private ResourceVersion versionOf(Tweet tweet) {
+        Instant lastModified = tweet.getUpdatedAt() != null ? tweet.getUpdatedAt() : tweet.getPostTime();
+        return new ResourceVersion(tweet.getVersion(), lastModified)
+                .withSuffix(likeService.getLikeCount(tweet.getId()));
     }
 
     @Transactional
     public TweetResponseDTO createTweet(TweetCreateDTO dto) {
-        TweetUser user = getAuthenticatedUser();
+        AuthenticatedUser user = AuthenticatedUser.current();
         Tweet newTweet = new Tweet();
         newTweet.setContent(dto.content());
-        newTweet.setTweetUser(user);
-        // postTime é definido automaticamente pelo @CreationTimestamp
+        // Apenas a chave estrangeira é necessária: não consulta o usuário
+        newTweet.setTweetUser(userRepository.getReferenceById(user.id()));
+        // id e postTime são gerados em memória no persist (SnowflakeIdGenerator)
 
         Tweet savedTweet = tweetRepository.save(newTweet);
-        return mapToTweetResponseDTO(savedTweet);
+        // Entrega o tweet nas timelines dos seguidores
+        timelineService.fanOut(savedTweet.getId(), user.id(), savedTweet.getPostTime());
+        searchIndex.indexAfterCommit(Map.of(savedTweet.getId(), savedTweet.getContent()));
+        // Hashtags e menções alimentam os trends
+        trendService.recordAfterCommit(List.of(savedTweet.getContent()));
+        TweetResponseDTO response = mapToTweetResponseDTO(savedTweet, user);
+        eventBroadcaster.publishAfterCommit(new TweetEventDTO(TweetEventDTO.CREATED, response.id(), response));
+        return response;
+    }
+
+    /**
+     * Creates many tweets for the authenticated user in one transaction.
+     * (Cria vários tweets do usuário autenticado em uma única transação, com INSERTs em batch JDBC.)
+     * Invalid items are reported by index and skipped; the valid ones are still created.
+     * @param dto Tweets to create (at most application.tweets.batch.max-size).
+     * @return IDs of the created tweets and the errors of the rejected items.
+     */
+    @Transactional
+    public TweetBatchResultDTO createTweets(TweetBatchCreateDTO dto) {
+        List<TweetCreateDTO> items = dto.tweets();
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException("A batch accepts at most " + maxBatchSize + " tweets");
+        }
+
+        AuthenticatedUser user = AuthenticatedUser.current();
+        TweetUser author = userRepository.getReferenceById(user.id());
+        List<Long> createdIds = new ArrayList<>(items.size());
+        Map<Long, String> createdContents = new HashMap<>();
+        List<TweetResponseDTO> createdTweets = new ArrayList<>(items.size());
+        List<TweetBatchResultDTO.ItemError> errors = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            String error = validate(items.get(i));
+            if (error != null) {
+                errors.add(new TweetBatchResultDTO.ItemError(i, error));
+                continue;
+            }
+
+            Tweet tweet = new Tweet();
+            tweet.setContent(items.get(i).content());
+            tweet.setTweetUser(author);
+            // O id é gerado em memória no persist (SnowflakeIdGenerator); o INSERT só sai no flush, em batch
+            entityManager.persist(tweet);
+            createdIds.add(tweet.getId());
+            createdContents.put(tweet.getId(), tweet.getContent());
+            createdTweets.add(mapToTweetResponseDTO(tweet, user));
+
+            if (createdIds.size() % jdbcBatchSize == 0) {
+                // Envia o batch e esvazia o contexto de persistência para a memória não crescer com o lote
+                entityManager.flush();
+                entityManager.clear();
+                author = userRepository.getReferenceById(user.id());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Um único INSERT ... SELECT entrega o lote inteiro às timelines
+        timelineService.fanOutAll(createdIds, user.id());
+        searchIndex.indexAfterCommit(createdContents);
+        trendService.recordAfterCommit(createdContents.values());
+        createdTweets.forEach(created -> eventBroadcaster.publishAfterCommit(
+                new TweetEventDTO(TweetEventDTO.CREATED, created.id(), created)));
+        return new TweetBatchResultDTO(createdIds, errors);
     }
 
+    // Valida um item do lote; retorna a mensagem de erro ou null se o item for válido
+    private String validate(TweetCreateDTO item) {
+        if (item == null) {
+            return "Tweet is required";
+        }
+        var violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Updates a tweet, optionally guarded by the client's If-Match header.
+     * (Atualiza um tweet; com If-Match, só aplica se o cliente tiver a versão atual.)
+     * @param id ID of the tweet.
+     * @param dto New content.
+     * @param ifMatch Value of If-Match, or null to skip the precondition.
+     * @return Updated tweet and its new validators.
+     */
     @Transactional
-    public TweetResponseDTO updateTweet(Long id, TweetUpdateDTO dto) {
-        TweetUser user = getAuthenticatedUser();
+    public Versioned<TweetResponseDTO> updateTweet(Long id, TweetUpdateDTO dto, String ifMatch) {
+        AuthenticatedUser user = AuthenticatedUser.current();
         Tweet tweet = tweetRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Tweet not found"));
 
-        // Verifica se o usuário logado é o dono do tweet
-        if (!tweet.getTweetUser().getUserid().equals(user.getUserid())) {
+        // Verifica se o usuário logado é o dono do tweet (o id do proxy não dispara consulta)
+        if (!tweet.getTweetUser().getUserid().equals(user.id())) {
             throw new AccessDeniedException("You are not allowed to update this tweet");
         }
+        // Compara só a @Version: curtidas entre o GET e o PUT não são uma edição concorrente
+        if (ifMatch != null && !ResourceVersion.matchesVersion(ifMatch, tweet.getVersion())) {
+            throw new OptimisticLockingFailureException("Tweet was modified by another request");
+        }
 
         tweet.setContent(dto.content());
-        Tweet updatedTweet = tweetRepository.save(tweet);
-        return mapToTweetResponseDTO(updatedTweet);
+        // O flush aplica o UPDATE ... WHERE version = ? agora, para devolver a nova versão no ETag
+        Tweet updatedTweet = tweetRepository.saveAndFlush(tweet);
+        responseCache.invalidate(ResponseCache.TWEET, id);
+        searchIndex.indexAfterCommit(Map.of(id, updatedTweet.getContent()));
+        TweetResponseDTO response = likeService.withLikeCount(mapToTweetResponseDTO(updatedTweet, user));
+        eventBroadcaster.publishAfterCommit(new TweetEventDTO(TweetEventDTO.UPDATED, id, response));
+        return new Versioned<>(response, versionOf(updatedTweet));
     }
 
     @Transactional
     public void deleteTweet(Long id) {
-        TweetUser user = getAuthenticatedUser();
+        AuthenticatedUser user = AuthenticatedUser.current();
         Tweet tweet = tweetRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Tweet not found"));
 
         // Só permite deletar se for o dono do tweet OU se for ADMIN
-        if (!tweet.getTweetUser().getUserid().equals(user.getUserid()) &&
-            !user.getRole().name().equals("ADMIN")) {
+        if (!tweet.getTweetUser().getUserid().equals(user.id()) && !user.isAdmin()) {
             throw new AccessDeniedException("You are not allowed to delete this tweet");
         }
 
+        timelineService.onTweetDeleted(id);
+        likeService.onTweetsDeleted(List.of(id));
         tweetRepository.delete(tweet);
+        responseCache.invalidate(ResponseCache.TWEET, id);
+        searchIndex.removeAfterCommit(List.of(id));
+        eventBroadcaster.publishAfterCommit(new TweetEventDTO(TweetEventDTO.DELETED, id, null));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.brunnoenzo.backend.service;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * (Hashtags e menções extraídas do texto de um tweet.)
+ * Hashtags são normalizadas como na busca (sem acento, minúsculas), para "#Eleição" e "#eleicao"
+ * contarem juntas; menções seguem o formato de screenName e só passam para minúsculas.
+ */
+public record TweetTextEntities(Set<String> hashtags, Set<String> mentions) {
+
+    // O lookbehind evita pegar "email@dominio" ou "a#b" no meio de uma palavra
+    private static final Pattern HASHTAG = Pattern.compile("(?<![\\p{L}\\p{N}_&])#([\\p{L}\\p{N}_]{1,50})");
+    private static final Pattern MENTION = Pattern.compile("(?<![\\p{L}\\p{N}_.])@([A-Za-z0-9_]{1,50})");
+
+    /**
+     * Extracts the distinct hashtags and mentions of a tweet.
+     * (Extrai as hashtags e menções distintas de um tweet, na ordem em que aparecem.)
+     * @param content Tweet text; null yields no entities.
+     * @return Hashtags and mentions without the leading '#' or '@'.
+     */
+    public static TweetTextEntities extract(String content) {
+        Set<String> hashtags = new LinkedHashSet<>();
+        Set<String> mentions = new LinkedHashSet<>();
+        if (content != null) {
+            Matcher hashtag = HASHTAG.matcher(content);
+            while (hashtag.find()) {
+                String tag = SearchTokenizer.normalize(hashtag.group(1));
+                // Só números (ex.: "#1") não é assunto
+                if (!tag.chars().allMatch(Character::isDigit)) {
+                    hashtags.add(tag);
+                }
+            }
+            Matcher mention = MENTION.matcher(content);
+            while (mention.find()) {
+                mentions.add(mention.group(1).toLowerCase(Locale.ROOT));
+            }
+        }
+        return new TweetTextEntities(hashtags, mentions);
+    }
+}
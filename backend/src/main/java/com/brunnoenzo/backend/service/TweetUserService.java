@@ -1,19 +1,39 @@
 package com.brunnoenzo.backend.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.brunnoenzo.backend.dto.CursorPageDTO;
+import com.brunnoenzo.backend.dto.FollowImportDTO;
+import com.brunnoenzo.backend.dto.FollowImportResultDTO;
+import com.brunnoenzo.backend.dto.FollowRelationDTO;
+import com.brunnoenzo.backend.dto.ResourceVersion;
+import com.brunnoenzo.backend.dto.TweetEventDTO;
 import com.brunnoenzo.backend.dto.UserResponseDTO;
 import com.brunnoenzo.backend.dto.UserUpdateDTO;
+import com.brunnoenzo.backend.dto.Versioned;
 import com.brunnoenzo.backend.model.TweetUser;
 import com.brunnoenzo.backend.repository.TweetUserRepository;
+import com.brunnoenzo.backend.security.AuthenticatedUser;
+import com.brunnoenzo.backend.security.PasswordHashingService;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 
@@ -26,38 +46,50 @@ import lombok.RequiredArgsConstructor;
 public class TweetUserService {
 
     private final TweetUserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
+    private final TimelineService timelineService;
+    private final RefreshTokenService refreshTokenService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ResponseCache responseCache;
+    private final TweetSearchIndex searchIndex;
+    private final TweetEventBroadcaster eventBroadcaster;
+    private final LikeService likeService;
+    private final FollowGraphIndex followGraph;
+
+    @Value("${application.pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${application.pagination.max-size:100}")
+    private int maxPageSize;
 
     /**
-     * (Recupera o usuário atualmente autenticado.)
+     * (Carrega a entidade do usuário autenticado; usado só quando os dados atuais do banco são necessários.)
      */
     private TweetUser getAuthenticatedUser() {
-        String userIdStr = SecurityContextHolder.getContext().getAuthentication().getName();
-        Long userId = Long.parseLong(userIdStr);
-
-        return userRepository.findById(userId)
+        return userRepository.findById(AuthenticatedUser.current().id())
                 .orElseThrow(() -> new EntityNotFoundException("Authenticated user not found"));
     }
 
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
     /**
      * (Converte uma entidade TweetUser para UserResponseDTO.)
+     * Os contadores vêm das colunas desnormalizadas, sem carregar as coleções de seguidores.
      */
     private UserResponseDTO mapToUserResponseDTO(TweetUser user) {
-        
-        // Mapeia a lista de usuários seguidos para uma lista de IDs
-        Set<Long> followingIds = user.getFollowing().stream()
-                .map(TweetUser::getUserid)
-                .collect(Collectors.toSet());
-
         return new UserResponseDTO(
                 user.getUserid(),
                 user.getScreenName(),
                 user.getProfileImage(),
                 user.getBio(),
                 user.getRole(),
-                user.getFollowing().size(),
-                user.getFollowers().size(),
-                followingIds // Passa a lista de IDs para o DTO
+                user.getFollowingCount(),
+                user.getFollowersCount()
         );
     }
 
@@ -68,11 +100,25 @@ public class TweetUserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * (Busca um usuário pelo id, junto com seus validadores HTTP.)
+     */
     @Transactional(readOnly = true) 
-    public UserResponseDTO getUserById(Long id) {
+    public Versioned<UserResponseDTO> getUserById(Long id) {
         TweetUser user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
-        return mapToUserResponseDTO(user); 
+        ResourceVersion version = new ResourceVersion(
+                user.getVersion(), user.getFollowersCount(), user.getFollowingCount(), user.getUpdatedAt());
+        return new Versioned<>(mapToUserResponseDTO(user), version);
+    }
+
+    /**
+     * (Validadores HTTP de um usuário, lidos por projeção sem carregar a entidade; usado no 304.)
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getUserVersion(Long id) {
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
     }
 
     @Transactional(readOnly = true) 
@@ -86,7 +132,7 @@ public class TweetUserService {
         TweetUser user = getAuthenticatedUser();
 
         if (dto.password() != null && !dto.password().isBlank()) {
-            user.setPassword(passwordEncoder.encode(dto.password()));
+            user.setPassword(passwordHashing.encode(dto.password()));
         }
         if (dto.profileImage() != null) {
             user.setProfileImage(dto.profileImage());
@@ -96,37 +142,253 @@ public class TweetUserService {
         }
 
         TweetUser updatedUser = userRepository.save(user);
-        // A transação @Transactional garante que .getFollowing() pode ser lido aqui
-        return mapToUserResponseDTO(updatedUser); 
+        responseCache.invalidate(ResponseCache.USER, updatedUser.getUserid());
+        return mapToUserResponseDTO(updatedUser);
     }
 
     @Transactional
     public void deleteUser() {
         TweetUser user = getAuthenticatedUser();
+        timelineService.onUserDeleted(user.getUserid());
+        refreshTokenService.deleteAllForUser(user.getUserid());
+        // Ajusta os contadores dos outros usuários e remove as relações de seguir nos dois sentidos
+        userRepository.decrementFollowersOfFollowed(user.getUserid());
+        userRepository.decrementFollowingOfFollowers(user.getUserid());
+        userRepository.deleteFollowEdges(user.getUserid());
+        // Os tweets saem em cascata junto com o usuário; suas respostas em cache também
+        List<Long> tweetIds = user.getTweets().stream().map(tweet -> tweet.getId()).toList();
+        tweetIds.forEach(tweetId -> responseCache.invalidate(ResponseCache.TWEET, tweetId));
+        searchIndex.removeAfterCommit(tweetIds);
+        likeService.onTweetsDeleted(tweetIds);
+        likeService.onUserDeleted(user.getUserid());
+        followGraph.removeUserAfterCommit(user.getUserid());
+        tweetIds.forEach(tweetId -> eventBroadcaster.publishAfterCommit(
+                new TweetEventDTO(TweetEventDTO.DELETED, tweetId, null)));
+        responseCache.invalidate(ResponseCache.USER, user.getUserid());
         userRepository.delete(user);
     }
 
+    /**
+     * Follows a user with a single idempotent insert on user_following.
+     * (Segue um usuário com um único INSERT idempotente em user_following.)
+     * @param userIdToFollow User to follow.
+     */
     @Transactional
     public void followUser(Long userIdToFollow) {
-        TweetUser currentUser = getAuthenticatedUser();
-        TweetUser userToFollow = userRepository.findById(userIdToFollow)
-                .orElseThrow(() -> new EntityNotFoundException("User to follow not found"));
-
-        if (currentUser.getUserid().equals(userIdToFollow)) {
+        Long currentUserId = AuthenticatedUser.current().id();
+        if (currentUserId.equals(userIdToFollow)) {
             throw new IllegalArgumentException("You cannot follow yourself");
         }
 
-        currentUser.getFollowing().add(userToFollow);
-        userRepository.save(currentUser);
+        // Só atualiza os contadores se a relação for realmente nova
+        if (userRepository.insertFollow(currentUserId, userIdToFollow) == 1) {
+            userRepository.adjustFollowingCount(currentUserId, 1);
+            userRepository.adjustFollowersCount(userIdToFollow, 1);
+            evictUsers(List.of(currentUserId, userIdToFollow));
+            timelineService.onFollow(currentUserId, userIdToFollow);
+            followGraph.followAfterCommit(currentUserId, List.of(userIdToFollow));
+        } else if (!userRepository.existsById(userIdToFollow)) {
+            throw new EntityNotFoundException("User to follow not found");
+        }
     }
 
+    /**
+     * Unfollows a user with a single idempotent delete on user_following.
+     * (Deixa de seguir um usuário com um único DELETE idempotente em user_following.)
+     * @param userIdToUnfollow User to unfollow.
+     */
     @Transactional
     public void unfollowUser(Long userIdToUnfollow) {
-        TweetUser currentUser = getAuthenticatedUser();
-        TweetUser userToUnfollow = userRepository.findById(userIdToUnfollow)
-                .orElseThrow(() -> new EntityNotFoundException("User to unfollow not found"));
+        Long currentUserId = AuthenticatedUser.current().id();
+
+        if (userRepository.deleteFollow(currentUserId, userIdToUnfollow) == 1) {
+            userRepository.adjustFollowingCount(currentUserId, -1);
+            userRepository.adjustFollowersCount(userIdToUnfollow, -1);
+            evictUsers(List.of(currentUserId, userIdToUnfollow));
+            timelineService.onUnfollow(currentUserId, userIdToUnfollow);
+            followGraph.unfollowAfterCommit(currentUserId, userIdToUnfollow);
+        } else if (!userRepository.existsById(userIdToUnfollow)) {
+            throw new EntityNotFoundException("User to unfollow not found");
+        }
+    }
+
+    /**
+     * Follows many users at once, e.g. when migrating a social graph.
+     * (Segue vários usuários de uma vez, por exemplo ao migrar um grafo social.)
+     * @param dto Ids of the users to follow.
+     * @return How many ids were requested and which ones were actually followed.
+     */
+    @Transactional
+    public FollowImportResultDTO importFollows(FollowImportDTO dto) {
+        Long currentUserId = AuthenticatedUser.current().id();
+        Set<Long> targetIds = new HashSet<>(dto.userIds());
 
-        currentUser.getFollowing().remove(userToUnfollow);
-        userRepository.save(currentUser);
+        List<Long> followedIds = userRepository.insertFollows(currentUserId, targetIds);
+        if (!followedIds.isEmpty()) {
+            userRepository.adjustFollowingCount(currentUserId, followedIds.size());
+            userRepository.incrementFollowersCounts(followedIds);
+            List<Long> changedIds = new ArrayList<>(followedIds);
+            changedIds.add(currentUserId);
+            evictUsers(changedIds);
+            timelineService.onBulkFollow(currentUserId, followedIds);
+            followGraph.followAfterCommit(currentUserId, followedIds);
+        }
+        return new FollowImportResultDTO(dto.userIds().size(), followedIds.size(), followedIds);
+    }
+
+    /**
+     * Lists the ids of the accounts a user follows, ordered by id.
+     * (Lista os ids das contas que um usuário segue, em ordem de id.)
+     * Responde pelo FollowGraphIndex quando ele já está carregado; antes disso, pelo banco.
+     * @param id User whose following list is read.
+     * @param after Cursor returned by the previous page, or null for the first page.
+     * @param limit Requested page size.
+     * @return Page of user ids and the cursor for the next page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Long> getFollowingIds(Long id, String after, Integer limit) {
+        if (!userRepository.existsById(id)) {
+            throw new EntityNotFoundException("User not found with id: " + id);
+        }
+        int pageSize = resolvePageSize(limit);
+        List<Long> ids = followGraph.isReady()
+                ? toList(followGraph.getFollowing(id, parseIdCursor(after), pageSize + 1))
+                : userRepository.findFollowingIds(id, parseIdCursor(after), pageSize + 1);
+        return toIdPage(ids, pageSize);
+    }
+
+    /**
+     * Lists the ids of a user's followers, ordered by id.
+     * (Lista os ids dos seguidores de um usuário, em ordem de id.)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Long> getFollowerIds(Long id, String after, Integer limit) {
+        if (!userRepository.existsById(id)) {
+            throw new EntityNotFoundException("User not found with id: " + id);
+        }
+        int pageSize = resolvePageSize(limit);
+        List<Long> ids = followGraph.isReady()
+                ? toList(followGraph.getFollowers(id, parseIdCursor(after), pageSize + 1))
+                : userRepository.findFollowerIds(id, parseIdCursor(after), pageSize + 1);
+        return toIdPage(ids, pageSize);
+    }
+
+    /**
+     * Tells whether two users follow each other, in both directions.
+     * (Informa se um usuário segue o outro e vice-versa.)
+     * @param id User whose relation is checked.
+     * @param targetId Other user.
+     * @return Both directions and whether the follow is mutual.
+     */
+    @Transactional(readOnly = true)
+    public FollowRelationDTO getFollowRelation(Long id, Long targetId) {
+        requireUser(id);
+        requireUser(targetId);
+        boolean following;
+        boolean followedBy;
+        if (followGraph.isReady()) {
+            following = followGraph.isFollowing(id, targetId);
+            followedBy = followGraph.isFollowing(targetId, id);
+        } else {
+            following = userRepository.isFollowing(id, targetId);
+            followedBy = userRepository.isFollowing(targetId, id);
+        }
+        return new FollowRelationDTO(id, targetId, following, followedBy, following && followedBy);
+    }
+
+    /**
+     * Lists the followers two users have in common, ordered by id.
+     * (Lista os seguidores em comum de dois usuários, em ordem de id.)
+     * @param id First user.
+     * @param otherId Second user.
+     * @param after Cursor returned by the previous page, or null for the first page.
+     * @param limit Requested page size.
+     * @return Page of user ids and the cursor for the next page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Long> getCommonFollowers(Long id, Long otherId, String after, Integer limit) {
+        requireUser(id);
+        requireUser(otherId);
+        requireFollowGraph();
+        int pageSize = resolvePageSize(limit);
+        return toIdPage(toList(followGraph.getCommonFollowers(id, otherId, parseIdCursor(after), pageSize + 1)), pageSize);
+    }
+
+    /**
+     * (Lista as contas que o usuário segue e que o seguem de volta, em ordem de id.)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Long> getMutuals(Long id, String after, Integer limit) {
+        requireUser(id);
+        requireFollowGraph();
+        int pageSize = resolvePageSize(limit);
+        return toIdPage(toList(followGraph.getMutuals(id, parseIdCursor(after), pageSize + 1)), pageSize);
+    }
+
+    // findById é resolvido pelo cache de segundo nível na maioria das vezes
+    private void requireUser(Long id) {
+        if (userRepository.findById(id).isEmpty()) {
+            throw new EntityNotFoundException("User not found with id: " + id);
+        }
+    }
+
+    // As interseções só existem em memória; durante a carga inicial o cliente tenta de novo
+    private void requireFollowGraph() {
+        if (!followGraph.isReady()) {
+            throw new RejectedExecutionException("Follow graph is still loading");
+        }
+    }
+
+    private static List<Long> toList(long[] ids) {
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    private long parseIdCursor(String after) {
+        if (after == null || after.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(after);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * (Remove do cache de segundo nível e do cache de respostas os usuários cujos contadores
+     * foram alterados por SQL nativo.)
+     * Evicta agora e de novo após o commit: uma leitura concorrente pode ter recolocado no cache
+     * o valor anterior enquanto a transação ainda não tinha sido confirmada.
+     */
+    private void evictUsers(Collection<Long> userIds) {
+        Cache cache = entityManagerFactory.getCache();
+        userIds.forEach(id -> cache.evict(TweetUser.class, id));
+        userIds.forEach(id -> responseCache.invalidate(ResponseCache.USER, id));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userIds.forEach(id -> cache.evict(TweetUser.class, id));
+            }
+        });
+    }
+
+    private CursorPageDTO<Long> toIdPage(List<Long> ids, int pageSize) {
+        if (ids.size() > pageSize) {
+            List<Long> page = ids.subList(0, pageSize);
+            return new CursorPageDTO<>(page, String.valueOf(page.get(pageSize - 1)));
+        }
+        return new CursorPageDTO<>(ids, null);
+    }
+
+    /**
+     * (Tarefa periódica que corrige divergências entre os contadores e a tabela user_following.)
+     * Roda também na subida: linhas anteriores às colunas de contador começam em 0 e não
+     * devem esperar a execução noturna.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${application.users.follow-count-reconcile-cron:0 0 4 * * *}")
+    @Transactional
+    public void reconcileFollowCounts() {
+        userRepository.reconcileFollowCounts();
     }
-}
\ No newline at end of file
+}
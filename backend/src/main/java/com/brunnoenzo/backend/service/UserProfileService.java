@@ -0,0 +1,115 @@
+package com.brunnoenzo.backend.service;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.brunnoenzo.backend.dto.CommentResponseDTO;
+import com.brunnoenzo.backend.dto.TweetResponseDTO;
+import com.brunnoenzo.backend.dto.UserProfileDTO;
+import com.brunnoenzo.backend.dto.UserResponseDTO;
+import com.brunnoenzo.backend.repository.CommentRepository;
+import com.brunnoenzo.backend.repository.TweetRepository;
+
+@Service
+
+/**
+ * (Monta a página de perfil executando as consultas em paralelo, cada uma em uma thread virtual.)
+ * As subtarefas vivem dentro do bloco try-with-resources da requisição: se uma falha, as outras
+ * são canceladas. Um semáforo global limita quantas consultas do perfil ocupam o pool de conexões
+ * ao mesmo tempo, para que picos nesta página não deixem as demais requisições sem conexão.
+ */
+public class UserProfileService {
+
+    private final TweetUserService userService;
+    private final TweetRepository tweetRepository;
+    private final CommentRepository commentRepository;
+    private final LikeService likeService;
+    private final Semaphore queryPermits;
+    private final long acquireTimeoutMs;
+    private final int recentSize;
+
+    public UserProfileService(
+            TweetUserService userService,
+            TweetRepository tweetRepository,
+            CommentRepository commentRepository,
+            LikeService likeService,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            @Value("${application.users.profile.max-parallel-queries:0}") int maxParallelQueries,
+            @Value("${spring.datasource.hikari.connection-timeout:30000}") long acquireTimeoutMs,
+            @Value("${application.users.profile.recent-size:10}") int recentSize) {
+        this.userService = userService;
+        this.tweetRepository = tweetRepository;
+        this.commentRepository = commentRepository;
+        this.likeService = likeService;
+        // 0 = metade do pool de conexões, o restante fica livre para as outras requisições
+        this.queryPermits = new Semaphore(maxParallelQueries > 0 ? maxParallelQueries : Math.max(1, connectionPoolSize / 2));
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.recentSize = recentSize;
+    }
+
+    /**
+     * Fetches the user, counters, latest tweets and latest comments concurrently.
+     * (Busca usuário, contadores, tweets e comentários recentes em paralelo.)
+     * @param id ID of the user.
+     * @return Aggregated profile.
+     */
+    public UserProfileDTO getProfile(Long id) {
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<UserResponseDTO> user = scope.submit(limited(() -> userService.getUserById(id).body()));
+            Future<Long> tweetCount = scope.submit(limited(() -> tweetRepository.countByTweetUserUserid(id)));
+            Future<List<TweetResponseDTO>> tweets = scope.submit(limited(() ->
+                    tweetRepository.findLatestByAuthor(id, PageRequest.of(0, recentSize))));
+            Future<List<CommentResponseDTO>> comments = scope.submit(limited(() ->
+                    commentRepository.findLatestByAuthorId(id, PageRequest.of(0, recentSize))));
+
+            List<Future<?>> subtasks = List.of(user, tweetCount, tweets, comments);
+            try {
+                return new UserProfileDTO(join(user), join(tweetCount),
+                        likeService.withLikeCounts(join(tweets)), join(comments));
+            } catch (RuntimeException e) {
+                // Falha em uma subtarefa (ex.: usuário inexistente) cancela as que ainda estão rodando
+                subtasks.forEach(subtask -> subtask.cancel(true));
+                throw e;
+            }
+        }
+    }
+
+    // Envolve a consulta com a permissão do semáforo; esgotado o tempo, a requisição recebe 503
+    private <T> Callable<T> limited(Callable<T> query) {
+        return () -> {
+            if (!queryPermits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Profile queries saturated");
+            }
+            try {
+                return query.call();
+            } finally {
+                queryPermits.release();
+            }
+        };
+    }
+
+    private static <T> T join(Future<T> subtask) {
+        try {
+            return subtask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading profile", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
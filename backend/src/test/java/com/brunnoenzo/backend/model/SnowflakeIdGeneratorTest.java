@@ -0,0 +1,73 @@
+package com.brunnoenzo.backend.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * (Testes do SnowflakeIdGenerator com relógio simulado e estado próprio.)
+ */
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + 86_400_000L;
+    private static final int IDS_PER_MILLI = 1 << SnowflakeIdGenerator.SEQUENCE_BITS;
+
+    private final SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, new AtomicLong());
+
+    @Test
+    void idsAreStrictlyIncreasing() {
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous, "id " + id + " should be greater than " + previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void idEmbedsTimestampAndNode() {
+        long id = generator.nextId(NOW);
+
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(id).toEpochMilli());
+        assertEquals(3, (id >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void sequenceOverflowBorrowsTheNextMillisecond() {
+        long previous = -1;
+        for (int i = 0; i < IDS_PER_MILLI; i++) {
+            long id = generator.nextId(NOW);
+            assertEquals(NOW, SnowflakeIdGenerator.timestampOf(id).toEpochMilli());
+            assertTrue(id > previous);
+            previous = id;
+        }
+
+        long borrowed = generator.nextId(NOW);
+
+        assertTrue(borrowed > previous);
+        assertEquals(NOW + 1, SnowflakeIdGenerator.timestampOf(borrowed).toEpochMilli());
+        // Quando o relógio alcança o milissegundo emprestado, a sequência continua dele
+        assertTrue(generator.nextId(NOW + 1) > borrowed);
+    }
+
+    @Test
+    void clockGoingBackwardsKeepsIdsIncreasing() {
+        long beforeJump = generator.nextId(NOW);
+
+        long afterJump = generator.nextId(NOW - 5_000);
+
+        assertTrue(afterJump > beforeJump);
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(afterJump).toEpochMilli());
+    }
+
+    @Test
+    void rejectsNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1, new AtomicLong()));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1, new AtomicLong()));
+    }
+}
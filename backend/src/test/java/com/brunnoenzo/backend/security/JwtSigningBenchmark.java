@@ -0,0 +1,59 @@
+package com.brunnoenzo.backend.security;
+
+import java.util.List;
+
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.brunnoenzo.backend.model.Role;
+import com.brunnoenzo.backend.model.TweetUser;
+import com.brunnoenzo.backend.service.TokenService;
+import com.nimbusds.jose.JWSAlgorithm;
+
+/**
+ * (Benchmark de assinatura e verificação dos JWTs para cada algoritmo suportado.)
+ * Não é um teste JUnit: rode a classe diretamente (main) depois de "mvn test-compile".
+ * Mede TokenService.generateToken e o decoder sem o cache de tokens verificados.
+ */
+public class JwtSigningBenchmark {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    public static void main(String[] args) {
+        TweetUser user = new TweetUser();
+        user.setUserid(42L);
+        user.setScreenName("benchmark");
+        user.setRole(Role.USER);
+
+        System.out.printf("%-6s %12s %12s %8s%n", "alg", "sign ops/s", "verify ops/s", "bytes");
+        for (JWSAlgorithm algorithm : List.of(JWSAlgorithm.RS256, JWSAlgorithm.ES256, JWSAlgorithm.EdDSA)) {
+            JwtSigningKeys keys = JwtSigningKeys.of(algorithm, JwtSigningKeys.generate(algorithm));
+            TokenService tokenService = new TokenService();
+            ReflectionTestUtils.setField(tokenService, "jwtEncoder", keys.encoder());
+            ReflectionTestUtils.setField(tokenService, "signingKeys", keys);
+            ReflectionTestUtils.setField(tokenService, "jwtExpiration", 900_000L);
+            JwtDecoder decoder = keys.decoder();
+
+            String token = null;
+            for (int i = 0; i < WARMUP; i++) {
+                token = tokenService.generateToken(user);
+                decoder.decode(token);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                token = tokenService.generateToken(user);
+            }
+            double signOps = ITERATIONS / ((System.nanoTime() - start) / 1e9);
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                decoder.decode(token);
+            }
+            double verifyOps = ITERATIONS / ((System.nanoTime() - start) / 1e9);
+
+            System.out.printf("%-6s %12.0f %12.0f %8d%n", algorithm.getName(), signOps, verifyOps, token.length());
+        }
+    }
+}
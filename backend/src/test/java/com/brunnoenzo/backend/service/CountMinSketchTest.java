@@ -0,0 +1,64 @@
+package com.brunnoenzo.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * (Testes do count-min sketch: estimativa por cima, subtração e limpeza.)
+ */
+class CountMinSketchTest {
+
+    @Test
+    void estimateIsExactWithoutCollisions() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+
+        sketch.add("java", 3);
+        sketch.add("java", 2);
+
+        assertEquals(5, sketch.estimate("java"));
+        assertEquals(0, sketch.estimate("kotlin"));
+    }
+
+    @Test
+    void estimateNeverUndercounts() {
+        // Largura pequena para forçar colisões
+        CountMinSketch sketch = new CountMinSketch(3, 16);
+        Map<String, Integer> actual = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            String key = "term" + (i % 97);
+            sketch.add(key, 1);
+            actual.merge(key, 1, Integer::sum);
+        }
+
+        actual.forEach((key, count) -> assertTrue(sketch.estimate(key) >= count, key));
+    }
+
+    @Test
+    void subtractRemovesAnotherSketchCounts() {
+        CountMinSketch window = new CountMinSketch(4, 256);
+        CountMinSketch expired = new CountMinSketch(4, 256);
+        window.add("a", 4);
+        window.add("b", 1);
+        expired.add("a", 3);
+
+        window.subtract(expired);
+
+        assertEquals(1, window.estimate("a"));
+        assertEquals(1, window.estimate("b"));
+    }
+
+    @Test
+    void clearResetsEveryCount() {
+        CountMinSketch sketch = new CountMinSketch(4, 256);
+        sketch.add("a", 10);
+
+        sketch.clear();
+
+        assertEquals(0, sketch.estimate("a"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.brunnoenzo.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.brunnoenzo.backend.repository.FollowEdgeReader.EdgeConsumer;
+import com.brunnoenzo.backend.repository.TweetUserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * (Testes do grafo de follows em memória: paginação por after e interseção com galloping.)
+ */
+class FollowGraphIndexTest {
+
+    private static final long[] EMPTY = new long[0];
+
+    @Test
+    void pageStartsAfterTheCursor() {
+        long[] ids = {2, 4, 6, 8, 10};
+
+        assertArrayEquals(new long[] {2, 4}, FollowGraphIndex.page(ids, 0, 2));
+        // after presente no array ou entre dois valores: a página começa no próximo maior
+        assertArrayEquals(new long[] {6, 8}, FollowGraphIndex.page(ids, 4, 2));
+        assertArrayEquals(new long[] {6, 8}, FollowGraphIndex.page(ids, 5, 2));
+        assertArrayEquals(new long[] {10}, FollowGraphIndex.page(ids, 8, 5));
+        assertArrayEquals(EMPTY, FollowGraphIndex.page(ids, 10, 5));
+    }
+
+    @Test
+    void intersectFindsCommonIdsInOrder() {
+        long[] a = {1, 3, 5, 7, 9, 11};
+        long[] b = {2, 3, 4, 7, 8, 11, 12};
+
+        assertArrayEquals(new long[] {3, 7, 11}, FollowGraphIndex.intersect(a, b, 0, 10));
+        assertArrayEquals(new long[] {3, 7, 11}, FollowGraphIndex.intersect(b, a, 0, 10));
+        assertArrayEquals(EMPTY, FollowGraphIndex.intersect(a, EMPTY, 0, 10));
+    }
+
+    @Test
+    void intersectPagesWithAfterAndLimit() {
+        long[] a = {1, 3, 5, 7, 9, 11};
+        long[] b = {3, 5, 7, 9, 11};
+
+        assertArrayEquals(new long[] {3, 5}, FollowGraphIndex.intersect(a, b, 0, 2));
+        assertArrayEquals(new long[] {7, 9}, FollowGraphIndex.intersect(a, b, 5, 2));
+        assertArrayEquals(new long[] {11}, FollowGraphIndex.intersect(a, b, 9, 2));
+        assertArrayEquals(EMPTY, FollowGraphIndex.intersect(a, b, 11, 2));
+    }
+
+    @Test
+    void intersectGallopsThroughAMuchLargerArray() {
+        long[] large = LongStream.range(0, 100_000).map(i -> i * 2).toArray();
+        // Valores espalhados, nas pontas e ausentes (ímpares), para exercitar cada salto exponencial
+        long[] small = {0, 1, 2, 3, 1_000, 1_001, 65_536, 131_071, 199_998, 199_999, 250_000};
+
+        assertArrayEquals(new long[] {0, 2, 1_000, 65_536, 199_998},
+                FollowGraphIndex.intersect(small, large, -1, 100));
+        assertArrayEquals(new long[] {65_536, 199_998},
+                FollowGraphIndex.intersect(large, small, 1_000, 100));
+    }
+
+    @Test
+    void followsAreVisibleThroughThePublicQueries() {
+        FollowGraphIndex index = new FollowGraphIndex(
+                mock(TweetUserRepository.class), mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+        // Sem transação ativa as escritas são aplicadas na hora
+        index.followAfterCommit(1, List.of(2L, 3L, 4L));
+        index.followAfterCommit(2, List.of(1L));
+        index.followAfterCommit(4, List.of(1L, 3L));
+        index.unfollowAfterCommit(1, 3);
+
+        assertTrue(index.isFollowing(1, 2));
+        assertFalse(index.isFollowing(1, 3));
+        assertArrayEquals(new long[] {2, 4}, index.getFollowing(1, 0, 10));
+        assertArrayEquals(new long[] {2, 4}, index.getMutuals(1, 0, 10));
+        assertArrayEquals(new long[] {4}, index.getMutuals(1, 2, 10));
+        assertArrayEquals(new long[] {4}, index.getFollowers(3, 0, 10));
+        assertArrayEquals(new long[] {4}, index.getCommonFollowers(1, 3, 0, 10));
+
+        index.removeUserAfterCommit(4);
+
+        assertArrayEquals(new long[] {2}, index.getFollowing(1, 0, 10));
+        assertArrayEquals(EMPTY, index.getFollowers(3, 0, 10));
+    }
+
+    @Test
+    void failedLoadIsRetriedUntilTheGraphIsReady() throws InterruptedException {
+        TweetUserRepository userRepository = mock(TweetUserRepository.class);
+        doThrow(new DataAccessResourceFailureException("database unavailable"))
+                .doAnswer(call -> {
+                    EdgeConsumer consumer = call.getArgument(0);
+                    consumer.accept(1, 2);
+                    consumer.accept(2, 1);
+                    return null;
+                })
+                .when(userRepository).forEachFollowEdge(any());
+        FollowGraphIndex index = new FollowGraphIndex(
+                userRepository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+        index.loadOnStartup();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!index.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(index.isReady());
+        assertArrayEquals(new long[] {2}, index.getMutuals(1, 0, 10));
+    }
+}
@@ -0,0 +1,170 @@
+package com.brunnoenzo.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.brunnoenzo.backend.model.Tweet;
+import com.brunnoenzo.backend.repository.TweetLikeRepository;
+import com.brunnoenzo.backend.repository.TweetRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * (Testes do LikeService: contador otimista, correção no flush e recarga dos totais.)
+ * O repositório é um fake em memória com a mesma semântica dos INSERT/DELETE ... RETURNING.
+ */
+class LikeServiceTest {
+
+    private static final long TWEET = 10L;
+
+    private final Set<List<Long>> rows = new HashSet<>();
+    private final Map<Long, Long> persistedCounts = new HashMap<>();
+    private final TweetLikeRepository likeRepository = mock(TweetLikeRepository.class);
+    private final ResponseCache responseCache = mock(ResponseCache.class);
+    private LikeService likeService;
+    private boolean failNextInsert;
+
+    @BeforeEach
+    void setUp() {
+        when(likeRepository.insertLikes(anyLong(), any())).thenAnswer(call -> {
+            if (failNextInsert) {
+                failNextInsert = false;
+                throw new IllegalStateException("database unavailable");
+            }
+            Long tweetId = call.getArgument(0);
+            Collection<Long> userIds = call.getArgument(1);
+            return userIds.stream().filter(userId -> rows.add(List.of(userId, tweetId))).toList();
+        });
+        when(likeRepository.deleteLikes(anyLong(), any())).thenAnswer(call -> {
+            Long tweetId = call.getArgument(0);
+            Collection<Long> userIds = call.getArgument(1);
+            return userIds.stream().filter(userId -> rows.remove(List.of(userId, tweetId))).toList();
+        });
+        doAnswer(call -> {
+            Map<Long, Long> deltas = call.getArgument(0);
+            deltas.forEach((tweetId, delta) -> persistedCounts.merge(tweetId, delta, Long::sum));
+            return null;
+        }).when(likeRepository).upsertCounts(anyMap());
+        doAnswer(call -> {
+            BiConsumer<Long, Long> consumer = call.getArgument(0);
+            new HashMap<>(persistedCounts).forEach(consumer);
+            return null;
+        }).when(likeRepository).forEachCount(any());
+
+        TweetRepository tweetRepository = mock(TweetRepository.class);
+        when(tweetRepository.findById(anyLong())).thenReturn(Optional.of(new Tweet()));
+
+        likeService = new LikeService(likeRepository, tweetRepository, responseCache,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        actAs(1L);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void likeIsCountedRightAwayAndPersistedOnFlush() {
+        assertEquals(1, likeService.like(TWEET).likeCount());
+
+        likeService.flush();
+
+        assertEquals(1, likeService.getLikeCount(TWEET));
+        assertEquals(1L, persistedCounts.get(TWEET));
+        assertEquals(Set.of(List.of(1L, TWEET)), rows);
+        verify(responseCache).invalidate(ResponseCache.TWEET, TWEET);
+    }
+
+    @Test
+    void repeatedLikeAfterFlushIsCorrectedToTheRealDelta() {
+        likeService.like(TWEET);
+        likeService.flush();
+
+        // Sem estado pendente o serviço não sabe que a linha já existe: conta de forma otimista
+        assertEquals(2, likeService.like(TWEET).likeCount());
+        likeService.flush();
+
+        assertEquals(1, likeService.getLikeCount(TWEET));
+        assertEquals(1L, persistedCounts.get(TWEET));
+    }
+
+    @Test
+    void likeAndUnlikeBeforeFlushCancelOut() {
+        likeService.like(TWEET);
+        likeService.unlike(TWEET);
+        actAs(2L);
+        likeService.like(TWEET);
+
+        likeService.flush();
+
+        assertEquals(1, likeService.getLikeCount(TWEET));
+        assertEquals(1L, persistedCounts.get(TWEET));
+        assertEquals(Set.of(List.of(2L, TWEET)), rows);
+    }
+
+    @Test
+    void unlikeOfAnUnknownRowIsCorrectedBackToZero() {
+        persistedCounts.put(TWEET, 0L);
+
+        assertEquals(0, likeService.unlike(TWEET).likeCount());
+        likeService.flush();
+
+        assertEquals(0, likeService.getLikeCount(TWEET));
+        assertEquals(0L, persistedCounts.get(TWEET));
+    }
+
+    @Test
+    void failedFlushKeepsThePendingLikesForTheNextRun() {
+        likeService.like(TWEET);
+        failNextInsert = true;
+
+        likeService.flush();
+        assertEquals(1, likeService.getLikeCount(TWEET));
+        assertEquals(Set.of(), rows);
+
+        likeService.flush();
+        assertEquals(1, likeService.getLikeCount(TWEET));
+        assertEquals(1L, persistedCounts.get(TWEET));
+    }
+
+    @Test
+    void reloadLoadsThePersistedTotals() {
+        persistedCounts.put(TWEET, 5L);
+        persistedCounts.put(11L, 2L);
+
+        likeService.reloadCounts();
+
+        assertEquals(5, likeService.getLikeCount(TWEET));
+        assertEquals(2, likeService.getLikeCount(11L));
+        assertEquals(0, likeService.getLikeCount(12L));
+    }
+
+    private static void actAs(Long userId) {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject(userId.toString()).build();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(jwt, null));
+    }
+}
@@ -0,0 +1,47 @@
+package com.brunnoenzo.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * (Testes da codificação dos cursores de paginação.)
+ */
+class PageCursorTest {
+
+    @Test
+    void roundTripsTheId() {
+        PageCursor cursor = new PageCursor(123_456_789_012L);
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new PageCursor(Long.MAX_VALUE).encode();
+
+        assertEquals(encoded, encoded.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void acceptsLegacyTimeAndIdCursor() {
+        String legacy = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2024-05-01T10:00:00Z|42".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(new PageCursor(42L), PageCursor.decode(legacy));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        String notANumber = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(notANumber));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(""));
+    }
+}
@@ -0,0 +1,113 @@
+package com.brunnoenzo.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * (Testes da PostingList: codificação varint, acréscimos em ordem, tombstones e compactação.)
+ */
+class PostingListTest {
+
+    @Test
+    void roundTripsOrdinalsAndFrequenciesAcrossVarintBoundaries() {
+        PostingList list = new PostingList();
+        // Deltas e frequências de 1 a 5 bytes
+        list.add(0, 1);
+        list.add(127, 127);
+        list.add(128, 128);
+        list.add(16_511, 16_384);
+        list.add(Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+
+        assertEquals(List.of("0:1", "127:127", "128:128", "16511:16384",
+                (Integer.MAX_VALUE - 1) + ":" + Integer.MAX_VALUE), entries(list));
+        assertEquals(5, list.count());
+    }
+
+    @Test
+    void rejectsOrdinalsOutOfOrder() {
+        PostingList list = new PostingList();
+        list.add(10, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> list.add(10, 1));
+        assertThrows(IllegalArgumentException.class, () -> list.add(3, 1));
+        assertEquals(List.of("10:1"), entries(list));
+    }
+
+    @Test
+    void removalOnlyCountsTombstonesUntilCompaction() {
+        PostingList list = listOf(1, 2, 3, 4);
+
+        list.markDeleted();
+
+        assertEquals(4, list.count());
+        assertEquals(3, list.liveCount());
+        assertEquals(1, list.deletedCount());
+        assertEquals(List.of("1:1", "2:1", "3:1", "4:1"), entries(list));
+    }
+
+    @Test
+    void compactionDropsDeletedEntries() {
+        PostingList list = listOf(1, 2, 3, 4);
+        BitSet deleted = new BitSet();
+        delete(list, deleted, 2);
+        delete(list, deleted, 4);
+
+        PostingList.Snapshot snapshot = list.snapshot();
+        list.replaceWith(PostingList.compact(snapshot, deleted::get), snapshot, deleted::get);
+
+        assertEquals(List.of("1:1", "3:1"), entries(list));
+        assertEquals(2, list.count());
+        assertEquals(0, list.deletedCount());
+    }
+
+    @Test
+    void compactionKeepsWritesMadeAfterTheSnapshot() {
+        PostingList list = listOf(1, 2, 3);
+        BitSet deleted = new BitSet();
+        delete(list, deleted, 1);
+        PostingList.Snapshot snapshot = list.snapshot();
+        BitSet deletedAtSnapshot = (BitSet) deleted.clone();
+        PostingList compacted = PostingList.compact(snapshot, deletedAtSnapshot::get);
+
+        // Enquanto a cópia era montada: dois acréscimos e duas remoções (uma no prefixo, uma no trecho novo)
+        list.add(5, 2);
+        list.add(6, 3);
+        delete(list, deleted, 3);
+        delete(list, deleted, 5);
+        list.replaceWith(compacted, snapshot, deleted::get);
+
+        // O 3 só sai na próxima compactação; o 5 já não é copiado
+        assertEquals(List.of("2:1", "3:1", "6:3"), entries(list));
+        assertEquals(3, list.count());
+        assertEquals(1, list.deletedCount());
+        assertEquals(2, list.liveCount());
+
+        list.add(7, 1);
+        assertEquals(List.of("2:1", "3:1", "6:3", "7:1"), entries(list));
+    }
+
+    private static PostingList listOf(int... ordinals) {
+        PostingList list = new PostingList();
+        for (int ordinal : ordinals) {
+            list.add(ordinal, 1);
+        }
+        return list;
+    }
+
+    private static void delete(PostingList list, BitSet deleted, int ordinal) {
+        deleted.set(ordinal);
+        list.markDeleted();
+    }
+
+    private static List<String> entries(PostingList list) {
+        List<String> entries = new ArrayList<>();
+        list.forEach((ordinal, frequency) -> entries.add(ordinal + ":" + frequency));
+        return entries;
+    }
+}
@@ -0,0 +1,46 @@
+package com.brunnoenzo.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * (Testes da normalização e da separação em termos da busca.)
+ */
+class SearchTokenizerTest {
+
+    @Test
+    void foldsAccentsAndCase() {
+        assertEquals(List.of("acao", "acao", "acao"), SearchTokenizer.tokenize("Ação acao AÇÃO"));
+        assertEquals("coracao", SearchTokenizer.normalize("Coração"));
+    }
+
+    @Test
+    void splitsOnPunctuationAndKeepsRepeats() {
+        assertEquals(List.of("java", "21", "virtual", "threads", "java"),
+                SearchTokenizer.tokenize("#Java-21: virtual_threads!! (java)"));
+    }
+
+    @Test
+    void dropsStopwordsAndSingleCharacters() {
+        assertEquals(List.of("gato", "casa"), SearchTokenizer.tokenize("O gato é da casa"));
+    }
+
+    @Test
+    void truncatesVeryLongTerms() {
+        List<String> terms = SearchTokenizer.tokenize("a".repeat(100));
+
+        assertEquals(1, terms.size());
+        assertEquals(40, terms.get(0).length());
+    }
+
+    @Test
+    void blankOrNullTextHasNoTerms() {
+        assertTrue(SearchTokenizer.tokenize(null).isEmpty());
+        assertTrue(SearchTokenizer.tokenize("   ").isEmpty());
+        assertTrue(SearchTokenizer.tokenize("de da do ... ?").isEmpty());
+    }
+}
@@ -0,0 +1,147 @@
+package com.brunnoenzo.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * (Testes do SingleFlight: compartilhamento da carga, exceções e limite de chaves.)
+ */
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void concurrentCallersShareOneLoad() throws InterruptedException {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", 100, new SimpleMeterRegistry());
+        AtomicReferenceArray<Object> results = new AtomicReferenceArray<>(FOLLOWERS + 1);
+
+        List<Thread> callers = startCallers(singleFlight, blockingLoader(() -> "value"), results);
+        release.countDown();
+        join(callers);
+
+        assertEquals(1, loads.get());
+        for (int i = 0; i < results.length(); i++) {
+            assertEquals("value", results.get(i));
+        }
+    }
+
+    @Test
+    void leaderExceptionReachesEveryCaller() throws InterruptedException {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", 100, new SimpleMeterRegistry());
+        IllegalStateException failure = new IllegalStateException("boom");
+        AtomicReferenceArray<Object> results = new AtomicReferenceArray<>(FOLLOWERS + 1);
+
+        List<Thread> callers = startCallers(singleFlight, blockingLoader(() -> {
+            throw failure;
+        }), results);
+        release.countDown();
+        join(callers);
+
+        assertEquals(1, loads.get());
+        for (int i = 0; i < results.length(); i++) {
+            // A mesma instância, sem CompletionException em volta
+            assertSame(failure, results.get(i));
+        }
+    }
+
+    @Test
+    void nothingIsKeptAfterTheLoadFinishes() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", 100, new SimpleMeterRegistry());
+
+        assertEquals(1, (int) singleFlight.execute("key", loads::incrementAndGet));
+        assertEquals(2, (int) singleFlight.execute("key", loads::incrementAndGet));
+
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+                () -> singleFlight.execute("key", () -> {
+                    throw new IllegalArgumentException("first");
+                }));
+        assertEquals("first", failure.getMessage());
+        assertEquals(3, (int) singleFlight.execute("key", loads::incrementAndGet));
+    }
+
+    @Test
+    void callsBeyondMaxKeysRunTheirOwnLoad() throws InterruptedException {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", 1, new SimpleMeterRegistry());
+        Thread leader = start(() -> singleFlight.execute("a", blockingLoader(() -> "a")));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // Com "a" em andamento o limite está cheio: até a mesma chave executa sem esperar o líder
+        assertEquals("b", singleFlight.execute("b", () -> "b"));
+        assertEquals("a2", singleFlight.execute("a", () -> "a2"));
+
+        release.countDown();
+        leader.join();
+        assertEquals(1, loads.get());
+    }
+
+    // Carga que avisa quando começou e só termina quando o teste liberar
+    private <V> Supplier<V> blockingLoader(Supplier<V> value) {
+        return () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return value.get();
+        };
+    }
+
+    // Inicia o líder e, com a carga em andamento, os seguidores; retorna quando todos estão esperando
+    private List<Thread> startCallers(SingleFlight<String, String> singleFlight, Supplier<String> loader,
+                                      AtomicReferenceArray<Object> results) throws InterruptedException {
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < results.length(); i++) {
+            int index = i;
+            callers.add(start(() -> {
+                try {
+                    results.set(index, singleFlight.execute("key", loader));
+                } catch (RuntimeException e) {
+                    results.set(index, e);
+                }
+            }));
+            if (i == 0) {
+                assertTrue(loading.await(5, TimeUnit.SECONDS));
+            }
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (Thread caller : callers) {
+            while (caller.getState() != Thread.State.WAITING) {
+                assertTrue(System.nanoTime() < deadline, "callers did not block on the load in flight");
+                Thread.sleep(1);
+            }
+        }
+        return callers;
+    }
+
+    private static Thread start(Runnable task) {
+        Thread thread = new Thread(task);
+        thread.start();
+        return thread;
+    }
+
+    private static void join(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.brunnoenzo.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.brunnoenzo.backend.dto.TweetEventDTO;
+import com.brunnoenzo.backend.service.TweetEventBroadcaster.SlowConsumerPolicy;
+import com.brunnoenzo.backend.service.TweetEventHistory.Event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * (Testes das políticas para assinantes lentos do stream de tweets.)
+ */
+class SubscriberQueueTest {
+
+    private final Counter dropped = new SimpleMeterRegistry().counter("tweets.stream.dropped");
+
+    @Test
+    void dropOldestKeepsTheNewestEvents() throws InterruptedException {
+        SubscriberQueue queue = new SubscriberQueue(2, SlowConsumerPolicy.DROP_OLDEST, dropped);
+
+        for (long sequence = 1; sequence <= 5; sequence++) {
+            assertTrue(queue.offer(event(sequence)));
+        }
+
+        assertEquals(3, dropped.count());
+        assertEquals(4, queue.poll(0, TimeUnit.MILLISECONDS).sequence());
+        assertEquals(5, queue.poll(0, TimeUnit.MILLISECONDS).sequence());
+        assertNull(queue.poll(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void disconnectRefusesTheEventOnceTheQueueIsFull() throws InterruptedException {
+        SubscriberQueue queue = new SubscriberQueue(2, SlowConsumerPolicy.DISCONNECT, dropped);
+
+        assertTrue(queue.offer(event(1)));
+        assertTrue(queue.offer(event(2)));
+        assertFalse(queue.offer(event(3)));
+
+        assertEquals(0, dropped.count());
+        assertEquals(1, queue.poll(0, TimeUnit.MILLISECONDS).sequence());
+        assertEquals(2, queue.poll(0, TimeUnit.MILLISECONDS).sequence());
+        assertNull(queue.poll(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void drainedQueueAcceptsEventsAgain() throws InterruptedException {
+        SubscriberQueue queue = new SubscriberQueue(1, SlowConsumerPolicy.DISCONNECT, dropped);
+
+        assertTrue(queue.offer(event(1)));
+        queue.poll(0, TimeUnit.MILLISECONDS);
+
+        assertTrue(queue.offer(event(2)));
+    }
+
+    private static Event event(long sequence) {
+        return new Event(sequence, new TweetEventDTO(TweetEventDTO.CREATED, sequence, null));
+    }
+}
@@ -0,0 +1,66 @@
+package com.brunnoenzo.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.brunnoenzo.backend.dto.TrendDTO;
+
+/**
+ * (Testes do TrendTracker: ordenação, expiração da janela e troca de candidatos.)
+ */
+class TrendTrackerTest {
+
+    private static final long BUCKET_MILLIS = 1_000;
+
+    // Início de um balde depois do atual: o tracker parte do relógio real
+    private final long start = (System.currentTimeMillis() / BUCKET_MILLIS + 1) * BUCKET_MILLIS;
+
+    @Test
+    void topReturnsMostFrequentTermsFirst() {
+        TrendTracker tracker = new TrendTracker(BUCKET_MILLIS, 3, 4, 1024, 10);
+        add(tracker, "java", 3, start);
+        add(tracker, "spring", 5, start);
+        add(tracker, "sql", 1, start);
+
+        assertEquals(List.of(new TrendDTO("spring", 5), new TrendDTO("java", 3)), tracker.top(2, start));
+    }
+
+    @Test
+    void countsLeaveTheWindowWhenTheirBucketExpires() {
+        TrendTracker tracker = new TrendTracker(BUCKET_MILLIS, 3, 4, 1024, 10);
+        add(tracker, "old", 2, start);
+        add(tracker, "new", 1, start + 2 * BUCKET_MILLIS);
+
+        // Ainda dentro da janela de 3 baldes
+        assertEquals(List.of(new TrendDTO("old", 2), new TrendDTO("new", 1)), tracker.top(10, start + 2 * BUCKET_MILLIS));
+        // O balde de "old" saiu da janela; o de "new" continua
+        assertEquals(List.of(new TrendDTO("new", 1)), tracker.top(10, start + 3 * BUCKET_MILLIS));
+        // Salto maior que a janela: tudo expira
+        assertTrue(tracker.top(10, start + 100 * BUCKET_MILLIS).isEmpty());
+    }
+
+    @Test
+    void newTermReplacesTheWeakestCandidateOnlyWhenItOvertakesIt() {
+        TrendTracker tracker = new TrendTracker(BUCKET_MILLIS, 3, 4, 1024, 2);
+        add(tracker, "a", 3, start);
+        add(tracker, "b", 1, start);
+
+        // Empata com o menor candidato: não entra
+        add(tracker, "c", 1, start);
+        assertEquals(List.of(new TrendDTO("a", 3), new TrendDTO("b", 1)), tracker.top(10, start));
+
+        // Passa o menor candidato: "b" sai
+        add(tracker, "c", 1, start);
+        assertEquals(List.of(new TrendDTO("a", 3), new TrendDTO("c", 2)), tracker.top(10, start));
+    }
+
+    private static void add(TrendTracker tracker, String term, int times, long nowMillis) {
+        for (int i = 0; i < times; i++) {
+            tracker.add(term, nowMillis);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.brunnoenzo.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.brunnoenzo.backend.dto.TweetEventDTO;
+import com.brunnoenzo.backend.service.TweetEventHistory.Event;
+
+/**
+ * (Testes do replay do stream de tweets: ids por época, limites do buffer circular e evento reset.)
+ */
+class TweetEventHistoryTest {
+
+    private static final long EPOCH = 1_700_000_000_000L;
+
+    private final TweetEventHistory history = new TweetEventHistory(4, EPOCH);
+
+    @Test
+    void idsCarryTheEpochAndAnIncreasingSequence() {
+        Event first = history.append(created(1L));
+        Event second = history.append(created(2L));
+
+        assertEquals(EPOCH + "-1", history.idOf(first));
+        assertEquals(EPOCH + "-2", history.idOf(second));
+    }
+
+    @Test
+    void freshSubscriptionReplaysNothing() {
+        history.append(created(1L));
+
+        assertTrue(history.replay(null).isEmpty());
+        assertTrue(history.replay("  ").isEmpty());
+    }
+
+    @Test
+    void replaysOnlyTheEventsAfterLastEventId() {
+        history.append(created(1L));
+        history.append(created(2L));
+        history.append(created(3L));
+
+        assertEquals(List.of(2L, 3L), tweetIds(history.replay(EPOCH + "-1")));
+        assertEquals(List.of(), tweetIds(history.replay(" " + EPOCH + "-3 ")));
+    }
+
+    @Test
+    void replaysTheWholeBufferWhenTheOldestEventIsStillThere() {
+        for (long tweetId = 1; tweetId <= 6; tweetId++) {
+            history.append(created(tweetId));
+        }
+
+        // Buffer de 4 guarda as sequências 3..6: quem viu a 2 ainda não perdeu nada
+        assertEquals(List.of(3L, 4L, 5L, 6L), tweetIds(history.replay(EPOCH + "-2")));
+    }
+
+    @Test
+    void resetsWhenLastEventIdFellOutOfTheBuffer() {
+        for (long tweetId = 1; tweetId <= 6; tweetId++) {
+            history.append(created(tweetId));
+        }
+
+        assertReset(history.replay(EPOCH + "-1"), 6);
+        assertReset(history.replay(EPOCH + "-0"), 6);
+    }
+
+    @Test
+    void resetsOnIdsFromAnotherEpoch() {
+        history.append(created(1L));
+        history.append(created(2L));
+
+        assertReset(history.replay((EPOCH - 1) + "-1"), 2);
+    }
+
+    @Test
+    void resetsOnMalformedOrFutureIds() {
+        history.append(created(1L));
+
+        assertReset(history.replay("abc"), 1);
+        assertReset(history.replay("1"), 1);
+        assertReset(history.replay("-1"), 1);
+        assertReset(history.replay(EPOCH + "-"), 1);
+        assertReset(history.replay(EPOCH + "-x"), 1);
+        assertReset(history.replay(EPOCH + "--1"), 1);
+        assertReset(history.replay(EPOCH + "-2"), 1);
+    }
+
+    private void assertReset(List<Event> replayed, long lastSequence) {
+        assertEquals(1, replayed.size());
+        Event reset = replayed.get(0);
+        assertEquals(TweetEventDTO.RESET, reset.payload().type());
+        // O id do reset é o último emitido: ao reconectar de novo o cliente retoma dali
+        assertEquals(EPOCH + "-" + lastSequence, history.idOf(reset));
+    }
+
+    private static TweetEventDTO created(Long tweetId) {
+        return new TweetEventDTO(TweetEventDTO.CREATED, tweetId, null);
+    }
+
+    private static List<Long> tweetIds(List<Event> events) {
+        return events.stream().map(event -> event.payload().tweetId()).toList();
+    }
+}
@@ -20,7 +20,7 @@ import {
 } from '@mui/material';
 import CloseIcon from '@mui/icons-material/Close';
 import api from '@/app/services/api';
-import { CommentResponseDTO, CommentCreateDTO } from '@/app/types/api';
+import { CommentResponseDTO, CommentCreateDTO, CommentPageDTO } from '@/app/types/api';
 import { useAuth } from '@/app/contexts/AuthContext';
 
 interface CommentModalProps {
@@ -32,22 +32,26 @@ interface CommentModalProps {
 export default function CommentModal({ open, onClose, tweetId }: CommentModalProps) {
   const { isLoggedIn } = useAuth();
   const [comments, setComments] = useState<CommentResponseDTO[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [totalCount, setTotalCount] = useState(0);
   const [newComment, setNewComment] = useState('');
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [postLoading, setPostLoading] = useState(false);
 
-  const fetchComments = async () => {
+  // Sem cursor busca a primeira página; com cursor acrescenta a próxima página à lista
+  const fetchComments = async (before?: string) => {
     if (!tweetId) return;
     setLoading(true);
     setError(null);
     try {
-      const response = await api.get<CommentResponseDTO[]>(`/tweets/${tweetId}/comments`);
-      // Ordena por data de postagem, mais recente primeiro
-      const sortedComments = response.data.sort(
-        (a, b) => new Date(b.postTime).getTime() - new Date(a.postTime).getTime()
-      );
-      setComments(sortedComments);
+      // Os comentários já vêm ordenados, mais recente primeiro
+      const response = await api.get<CommentPageDTO>(`/tweets/${tweetId}/comments`, {
+        params: before ? { before } : undefined,
+      });
+      setComments((prev) => (before ? [...prev, ...response.data.items] : response.data.items));
+      setNextCursor(response.data.nextCursor);
+      setTotalCount(response.data.totalCount);
     } catch (err) {
       setError('Falha ao carregar comentários.');
     } finally {
@@ -62,6 +66,8 @@ export default function CommentModal({ open, onClose, tweetId }: CommentModalPro
     // Reseta o estado ao fechar
     if (!open) {
       setComments([]);
+      setNextCursor(null);
+      setTotalCount(0);
       setNewComment('');
       setError(null);
     }
@@ -92,7 +98,7 @@ export default function CommentModal({ open, onClose, tweetId }: CommentModalPro
   return (
     <Dialog open={open} onClose={onClose} fullWidth maxWidth="sm">
       <DialogTitle sx={{ m: 0, p: 2, display: 'flex', justifyContent: 'space-between', alignItems: 'center' }}>
-        Comentários
+        Comentários{totalCount > 0 && ` (${totalCount})`}
         <IconButton
           aria-label="close"
           onClick={onClose}
@@ -133,6 +139,13 @@ export default function CommentModal({ open, onClose, tweetId }: CommentModalPro
               />
             </ListItem>
           ))}
+          {nextCursor && !loading && (
+            <Box sx={{ display: 'flex', justifyContent: 'center' }}>
+              <Button size="small" onClick={() => fetchComments(nextCursor)}>
+                Carregar mais
+              </Button>
+            </Box>
+          )}
         </List>
       </DialogContent>
 
@@ -15,12 +15,12 @@ import {
 } from '@mui/material';
 import CloseIcon from '@mui/icons-material/Close';
 import api from '@/app/services/api';
-import { TweetCreateDTO } from '@/app/types/api';
+import { TweetCreateDTO, TweetResponseDTO } from '@/app/types/api';
 
 interface CreateTweetModalProps {
   open: boolean;
   onClose: () => void;
-  onTweetPosted: () => void; // Para atualizar o feed
+  onTweetPosted: (tweet: TweetResponseDTO) => void; // Para atualizar o feed
 }
 
 export default function CreateTweetModal({ open, onClose, onTweetPosted }: CreateTweetModalProps) {
@@ -37,9 +37,9 @@ export default function CreateTweetModal({ open, onClose, onTweetPosted }: Creat
     const dto: TweetCreateDTO = { content };
 
     try {
-      await api.post('/tweets', dto);
+      const res = await api.post<TweetResponseDTO>('/tweets', dto);
       setContent(''); // Limpa o campo
-      onTweetPosted(); // Avisa o pai para recarregar os tweets
+      onTweetPosted(res.data); // Entrega o tweet criado ao pai, sem recarregar o feed
       onClose(); // Fecha o modal
     } catch (err: any) {
       const errorMsg = err.response?.data?.error || 'Falha ao postar tweet.';
@@ -19,14 +19,16 @@ import EditIcon from '@mui/icons-material/Edit';
 import DeleteIcon from '@mui/icons-material/Delete';
 import PersonAddIcon from '@mui/icons-material/PersonAdd';
 import PersonRemoveIcon from '@mui/icons-material/PersonRemove';
-import { TweetResponseDTO, UserResponseDTO } from '@/app/types/api';
+import FavoriteIcon from '@mui/icons-material/Favorite';
+import FavoriteBorderIcon from '@mui/icons-material/FavoriteBorder';
+import { CurrentUser, LikeStatusDTO, TweetResponseDTO } from '@/app/types/api';
 import { useAuth } from '@/app/contexts/AuthContext';
 import api from '@/app/services/api';
 
 
 interface TweetCardProps {
   tweet: TweetResponseDTO;
-  currentUser: UserResponseDTO | null;
+  currentUser: CurrentUser | null;
   onDelete: (id: number) => void;
   onOpenComments: (id: number) => void;
   onOpenEdit: (tweet: TweetResponseDTO) => void;
@@ -52,6 +54,14 @@ export default function TweetCard({
   const [followLoading, setFollowLoading] = useState(false);
   const [deleteLoading, setDeleteLoading] = useState(false);
 
+  // A API não informa se o usuário já curtiu; o estado vale a partir da primeira interação
+  const [liked, setLiked] = useState(false);
+  const [likeCount, setLikeCount] = useState(tweet.likeCount);
+
+  useEffect(() => {
+    setLikeCount(tweet.likeCount);
+  }, [tweet.likeCount]);
+
   useEffect(() => {
     if (currentUser) {
       setIsFollowing(currentUser.followingIds.includes(tweet.authorId));
@@ -102,6 +112,20 @@ export default function TweetCard({
     });
   };
 
+  const handleLike = () => {
+    handleAuthClick(async () => {
+      try {
+        const res = liked
+          ? await api.delete<LikeStatusDTO>(`/tweets/${tweet.id}/like`)
+          : await api.post<LikeStatusDTO>(`/tweets/${tweet.id}/like`);
+        setLiked(res.data.liked);
+        setLikeCount(res.data.likeCount);
+      } catch (err) {
+        console.error("Falha ao curtir:", err);
+      }
+    });
+  };
+
   const handleDelete = async () => {
     if (!isOwner && !isAdmin) return;
     setDeleteLoading(true);
@@ -230,6 +254,13 @@ export default function TweetCard({
         >
           Comentários
         </Button>
+        <Button
+          onClick={handleLike}
+          startIcon={liked ? <FavoriteIcon /> : <FavoriteBorderIcon />}
+          color="secondary"
+        >
+          {likeCount}
+        </Button>
       </CardActions>
     </Card>
   );
@@ -5,7 +5,7 @@ import { Container, Box, Button, CircularProgress, Alert, Typography } from '@mu
 import AddIcon from '@mui/icons-material/Add';
 import api from '@/app/services/api';
 import { useAuth } from '@/app/contexts/AuthContext';
-import { TweetResponseDTO, UserResponseDTO } from '@/app/types/api';
+import { CurrentUser, CursorPageDTO, TweetEventDTO, TweetResponseDTO, UserResponseDTO } from '@/app/types/api';
 import TweetCard from './TweetCard';
 import CreateTweetModal from './CreateTweetModal';
 import CommentModal from './CommentModal';
@@ -15,7 +15,9 @@ export default function TweetFeed() {
   const { isLoggedIn } = useAuth();
   
   const [tweets, setTweets] = useState<TweetResponseDTO[]>([]);
-  const [currentUser, setCurrentUser] = useState<UserResponseDTO | null>(null);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [currentUser, setCurrentUser] = useState<CurrentUser | null>(null);
   
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
@@ -29,22 +31,35 @@ export default function TweetFeed() {
   const [selectedTweetToEdit, setSelectedTweetToEdit] = useState<TweetResponseDTO | null>(null);
 
 
+  // Percorre as páginas de /users/{id}/following para montar a lista de ids seguidos
+  const fetchFollowingIds = async (userId: number) => {
+    const ids: number[] = [];
+    let after: string | null = null;
+    do {
+      const res: { data: CursorPageDTO<number> } = await api.get<CursorPageDTO<number>>(
+        `/users/${userId}/following`,
+        { params: { limit: 100, ...(after ? { after } : {}) } }
+      );
+      ids.push(...res.data.items);
+      after = res.data.nextCursor;
+    } while (after);
+    return ids;
+  };
+
   const fetchData = async () => {
     setLoading(true);
     setError(null);
     try {
-      // 1. Buscar Tweets (sempre)
-      const tweetsRes = await api.get<TweetResponseDTO[]>('/tweets');
-      // Ordena por data, mais recente primeiro
-      const sortedTweets = tweetsRes.data.sort(
-        (a, b) => new Date(b.postTime).getTime() - new Date(a.postTime).getTime()
-      );
-      setTweets(sortedTweets);
+      // 1. Buscar a primeira página de Tweets (já vem ordenada, mais recente primeiro)
+      const tweetsRes = await api.get<CursorPageDTO<TweetResponseDTO>>('/tweets');
+      setTweets(tweetsRes.data.items);
+      setNextCursor(tweetsRes.data.nextCursor);
 
       // 2. Buscar usuário logado (se estiver logado)
       if (isLoggedIn) {
         const userRes = await api.get<UserResponseDTO>('/users/me');
-        setCurrentUser(userRes.data);
+        const followingIds = await fetchFollowingIds(userRes.data.userid);
+        setCurrentUser({ ...userRes.data, followingIds });
       } else {
         setCurrentUser(null);
       }
@@ -61,16 +76,55 @@ export default function TweetFeed() {
     fetchData();
   }, [isLoggedIn]);
 
-  const handleTweetPosted = () => {
-    // Apenas busca os tweets novamente
-    api.get<TweetResponseDTO[]>('/tweets')
+  // Recarrega só a primeira página (usado quando o stream pede "reset")
+  const refreshFirstPage = () => {
+    api.get<CursorPageDTO<TweetResponseDTO>>('/tweets')
+      .then(res => {
+        setTweets(res.data.items);
+        setNextCursor(res.data.nextCursor);
+      })
+      .catch(() => setError('Falha ao atualizar o feed.'));
+  };
+
+  // Coloca o tweet no topo, a não ser que ele já esteja na lista (o stream e o POST podem entregar o mesmo)
+  const prependTweet = (tweet: TweetResponseDTO) => {
+    setTweets((prev) => (prev.some((t) => t.id === tweet.id) ? prev : [tweet, ...prev]));
+  };
+
+  // Stream de tweets ao vivo: o EventSource reconecta sozinho e envia o Last-Event-ID
+  useEffect(() => {
+    const source = new EventSource(`${api.defaults.baseURL}/tweets/stream`);
+    const parse = (e: Event): TweetEventDTO => JSON.parse((e as MessageEvent).data);
+
+    source.addEventListener('created', (e) => {
+      const event = parse(e);
+      if (event.tweet) prependTweet(event.tweet);
+    });
+    source.addEventListener('updated', (e) => {
+      const event = parse(e);
+      if (event.tweet) handleTweetUpdated(event.tweet);
+    });
+    source.addEventListener('deleted', (e) => handleDeleteTweet(parse(e).tweetId!));
+    // Eventos perdidos já saíram do buffer do servidor
+    source.addEventListener('reset', refreshFirstPage);
+
+    return () => source.close();
+  }, []);
+
+  const handleTweetPosted = (tweet: TweetResponseDTO) => {
+    prependTweet(tweet);
+  };
+
+  const handleLoadMore = () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    api.get<CursorPageDTO<TweetResponseDTO>>('/tweets', { params: { before: nextCursor } })
       .then(res => {
-        const sortedTweets = res.data.sort(
-          (a, b) => new Date(b.postTime).getTime() - new Date(a.postTime).getTime()
-        );
-        setTweets(sortedTweets);
+        setTweets((prev) => [...prev, ...res.data.items]);
+        setNextCursor(res.data.nextCursor);
       })
-      .catch(() => setError('Falha ao atualizar feed após postagem.'));
+      .catch(() => setError('Falha ao carregar mais tweets.'))
+      .finally(() => setLoadingMore(false));
   };
 
   const handleDeleteTweet = (id: number) => {
@@ -170,6 +224,13 @@ export default function TweetFeed() {
               onFollowChange={handleFollowStateChange} // <-- PROP ADICIONADA
             />
           ))}
+          {nextCursor && (
+            <Box sx={{ display: 'flex', justifyContent: 'center', my: 2 }}>
+              <Button variant="outlined" onClick={handleLoadMore} disabled={loadingMore}>
+                {loadingMore ? <CircularProgress size={24} /> : 'Carregar mais'}
+              </Button>
+            </Box>
+          )}
         </Box>
       )}
 
@@ -38,6 +38,7 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
       setToken(newToken);
       setIsLoggedIn(true);
       localStorage.setItem('authToken', newToken); // Salva o token
+      localStorage.setItem('refreshToken', response.data.refreshToken); // Usado para renovar o token
     
     } catch (error) {
       console.error("Erro no login:", error);
@@ -54,9 +55,15 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
   };
 
   const logout = () => {
+    // Revoga o refresh token no backend (sem bloquear o logout local)
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      api.post('/auth/logout', { refreshToken }).catch(() => {});
+    }
     setToken(null);
     setIsLoggedIn(false);
     localStorage.removeItem('authToken'); // Remove o token
+    localStorage.removeItem('refreshToken');
   };
 
   return (
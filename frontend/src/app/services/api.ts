@@ -1,4 +1,4 @@
-import axios, { AxiosError } from 'axios';
+import axios, { AxiosError, InternalAxiosRequestConfig } from 'axios';
 import { TokenResponseDTO } from '@/app/types/auth';
 
 // Define a URL base da sua API
@@ -23,16 +23,58 @@ api.interceptors.request.use(
   }
 );
 
-// Interceptor de Resposta (Opcional, mas bom para tratar erros de token expirado no futuro)
+// Renovação em andamento, compartilhada entre as requisições que receberem 401 ao mesmo tempo
+let refreshPromise: Promise<string> | null = null;
+
+const refreshAccessToken = (): Promise<string> => {
+  if (!refreshPromise) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    // Usa o axios "puro" para não passar pelos interceptors desta instância
+    refreshPromise = (refreshToken
+      ? axios.post<TokenResponseDTO>(`${API_URL}/auth/refresh`, { refreshToken }).then((response) => {
+          localStorage.setItem('authToken', response.data.token);
+          localStorage.setItem('refreshToken', response.data.refreshToken);
+          return response.data.token;
+        })
+      : Promise.reject(new Error('Sem refresh token'))
+    ).finally(() => {
+      refreshPromise = null;
+    });
+  }
+  return refreshPromise;
+};
+
+const forceLogout = () => {
+  console.error("Erro de autorização. Deslogando...");
+  localStorage.removeItem('authToken');
+  localStorage.removeItem('refreshToken');
+  // Recarrega a página para o AuthContext atualizar
+  window.location.href = '/login';
+};
+
+// Interceptor de Resposta: renova o access token expirado uma vez e repete a requisição
 api.interceptors.response.use(
   (response) => response,
-  (error: AxiosError) => {
-    if (error.response?.status === 401 || error.response?.status === 403) {
+  async (error: AxiosError) => {
+    const original = error.config as (InternalAxiosRequestConfig & { _retry?: boolean }) | undefined;
+    const status = error.response?.status;
+    const isAuthCall = original?.url?.startsWith('/auth/');
+
+    if (status === 401 && original && !original._retry && !isAuthCall) {
+      original._retry = true;
+      try {
+        const newToken = await refreshAccessToken();
+        original.headers.Authorization = `Bearer ${newToken}`;
+        return api(original);
+      } catch {
+        forceLogout();
+        return Promise.reject(error);
+      }
+    }
+
+    if ((status === 401 || status === 403) && !isAuthCall) {
       // Se o token for inválido ou expirado, força o logout
-      console.error("Erro de autorização. Deslogando...");
-      localStorage.removeItem('authToken');
-      // Recarrega a página para o AuthContext atualizar
-      window.location.href = '/login'; 
+      forceLogout();
     }
     return Promise.reject(error);
   }
@@ -11,6 +11,13 @@ export interface UserResponseDTO {
   role: string;
   followingCount: number;
   followersCount: number;
+}
+
+/**
+ * Usuário logado com os ids das contas que ele segue
+ * (carregados de /users/{id}/following, que é paginado)
+ */
+export interface CurrentUser extends UserResponseDTO {
   followingIds: number[];
 }
 
@@ -23,6 +30,15 @@ export interface TweetResponseDTO {
   postTime: string; // O Instant é serializado como string (ISO 8601)
   authorScreenName: string;
   authorId: number;
+  likeCount: number; // Lido dos contadores em memória do backend
+}
+
+/**
+ * Baseado em CursorPageDTO.java
+ */
+export interface CursorPageDTO<T> {
+  items: T[];
+  nextCursor: string | null;
 }
 
 /**
@@ -37,6 +53,15 @@ export interface CommentResponseDTO {
   parentCommentId: number | null;
 }
 
+/**
+ * Baseado em CommentPageDTO.java
+ */
+export interface CommentPageDTO {
+  items: CommentResponseDTO[];
+  nextCursor: string | null;
+  totalCount: number;
+}
+
 /**
  * Baseado em CommentCreateDTO.java
  */
@@ -56,4 +81,68 @@ export interface TweetCreateDTO {
  */
 export interface TweetUpdateDTO {
   content: string;
-}
\ No newline at end of file
+}
+/**
+ * Baseado em UserProfileDTO.java (GET /users/{id}/profile)
+ */
+export interface UserProfileDTO {
+  user: UserResponseDTO;
+  tweetCount: number;
+  recentTweets: TweetResponseDTO[];
+  recentComments: CommentResponseDTO[];
+}
+
+/**
+ * Baseado em TweetSearchResultDTO.java (GET /search/tweets?q=)
+ */
+export interface TweetSearchResultDTO {
+  items: TweetResponseDTO[];
+  nextCursor: string | null;
+  totalHits: number;
+}
+
+/**
+ * Baseado em TrendDTO.java
+ */
+export interface TrendDTO {
+  tag: string;
+  count: number;
+}
+
+/**
+ * Baseado em TrendsDTO.java (GET /trends)
+ */
+export interface TrendsDTO {
+  hashtags: TrendDTO[];
+  mentions: TrendDTO[];
+  windowMinutes: number;
+}
+
+/**
+ * Baseado em TweetEventDTO.java (eventos SSE de /tweets/stream)
+ */
+export interface TweetEventDTO {
+  type: 'created' | 'updated' | 'deleted' | 'reset';
+  tweetId: number | null;
+  tweet: TweetResponseDTO | null;
+}
+
+/**
+ * Baseado em LikeStatusDTO.java (POST/DELETE /tweets/{id}/like)
+ */
+export interface LikeStatusDTO {
+  tweetId: number;
+  liked: boolean;
+  likeCount: number;
+}
+
+/**
+ * Baseado em FollowRelationDTO.java (GET /users/{id}/follows/{targetId})
+ */
+export interface FollowRelationDTO {
+  userId: number;
+  targetId: number;
+  following: boolean;
+  followedBy: boolean;
+  mutual: boolean;
+}
@@ -19,4 +19,11 @@ export interface AuthDTO {
 // Baseado em TokenResponseDTO.java
 export interface TokenResponseDTO {
   token: string;
+  refreshToken: string;
+  expiresIn: number; // validade do access token, em segundos
+}
+
+// Baseado em RefreshTokenDTO.java
+export interface RefreshTokenDTO {
+  refreshToken: string;
 }
\ No newline at end of file